@@ -58,7 +58,7 @@ public class Application {
         );
 
         // Закриття пулу з'єднань
-        connectionPool.shutdown();
+        connectionPool.close();
     }
 
     public static void main(String[] args) {
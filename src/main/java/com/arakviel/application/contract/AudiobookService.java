@@ -3,7 +3,10 @@ package com.arakviel.application.contract;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.AudiobookFile;
 import com.arakviel.domain.enums.FileFormat;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.file.exception.FileStorageException;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
 
 import java.io.InputStream;
@@ -81,6 +84,27 @@ public interface AudiobookService {
      */
     List<Audiobook> findAll(int offset, int limit);
 
+    /**
+     * Знаходить короткі дані аудіокниг для списку каталогу з пагінацією, упорядковані за назвою.
+     * На відміну від {@link #findAll(int, int)} вибирає лише колонки {@link AudiobookSummary}.
+     *
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return список проєкцій аудіокниг
+     */
+    List<AudiobookSummary> findSummaries(int offset, int limit);
+
+    /**
+     * Знаходить аудіокниги посторінково за курсором, упорядкованих за назвою.
+     * Вартість запиту не залежить від глибини сторінки, тому метод підходить для
+     * нескінченного прокручування.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка аудіокниг з курсором наступної сторінки
+     */
+    Page<Audiobook> findAll(Cursor after, int limit);
+
     /**
      * Знаходить всі файли, пов'язані з аудіокнигою.
      *
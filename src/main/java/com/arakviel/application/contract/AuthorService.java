@@ -3,7 +3,10 @@ package com.arakviel.application.contract;
 import com.arakviel.application.exception.ValidationException;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.file.exception.FileStorageException;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
 
 import java.io.InputStream;
@@ -70,6 +73,17 @@ public interface AuthorService {
      */
     List<Author> findAll(int offset, int limit);
 
+    /**
+     * Знаходить авторів посторінково за курсором, упорядкованих за прізвищем.
+     * Вартість запиту не залежить від глибини сторінки, тому метод підходить для
+     * нескінченного прокручування.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка авторів з курсором наступної сторінки
+     */
+    Page<Author> findAll(Cursor after, int limit);
+
     /**
      * Знаходить авторів за ім'ям та прізвищем.
      *
@@ -95,6 +109,14 @@ public interface AuthorService {
      */
     List<Audiobook> findAudiobooksByAuthorId(UUID authorId);
 
+    /**
+     * Знаходить короткі дані аудіокниг автора для списків (без опису).
+     *
+     * @param authorId ідентифікатор автора
+     * @return список проєкцій аудіокниг
+     */
+    List<AudiobookSummary> findAudiobookSummariesByAuthorId(UUID authorId);
+
     /**
      * Підраховує кількість аудіокниг, пов'язаних з автором.
      *
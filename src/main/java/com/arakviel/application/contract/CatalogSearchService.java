@@ -0,0 +1,47 @@
+package com.arakviel.application.contract;
+
+import com.arakviel.application.exception.ValidationException;
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
+
+/**
+ * Інтерфейс повнотекстового пошуку по каталогу: аудіокниги, автори та жанри. Результати
+ * впорядковані за релевантністю, останнє слово запиту може бути неповним.
+ */
+public interface CatalogSearchService {
+
+    /**
+     * Шукає аудіокниги за назвою та описом.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка аудіокниг з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    PageWithTotal<Audiobook> searchAudiobooks(String query, int offset, int limit);
+
+    /**
+     * Шукає авторів за ім'ям, прізвищем і біографією.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка авторів з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    PageWithTotal<Author> searchAuthors(String query, int offset, int limit);
+
+    /**
+     * Шукає жанри за назвою та описом.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка жанрів з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    PageWithTotal<Genre> searchGenres(String query, int offset, int limit);
+}
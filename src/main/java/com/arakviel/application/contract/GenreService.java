@@ -3,6 +3,9 @@ package com.arakviel.application.contract;
 import com.arakviel.application.exception.ValidationException;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookSummary;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
 
 import java.util.List;
@@ -61,6 +64,17 @@ public interface GenreService {
      */
     List<Genre> findAll(int offset, int limit);
 
+    /**
+     * Знаходить жанри посторінково за курсором, упорядкованих за назвою.
+     * Вартість запиту не залежить від глибини сторінки, тому метод підходить для
+     * нескінченного прокручування.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка жанрів з курсором наступної сторінки
+     */
+    Page<Genre> findAll(Cursor after, int limit);
+
     /**
      * Знаходить жанри за назвою.
      *
@@ -85,6 +99,14 @@ public interface GenreService {
      */
     List<Audiobook> findAudiobooksByGenreId(UUID genreId);
 
+    /**
+     * Знаходить короткі дані аудіокниг жанру для списків (без опису).
+     *
+     * @param genreId ідентифікатор жанру
+     * @return список проєкцій аудіокниг
+     */
+    List<AudiobookSummary> findAudiobookSummariesByGenreId(UUID genreId);
+
     /**
      * Знаходить жанри, пов'язані з аудіокнигою.
      *
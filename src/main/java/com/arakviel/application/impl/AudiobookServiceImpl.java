@@ -4,9 +4,13 @@ import com.arakviel.application.contract.AudiobookService;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.AudiobookFile;
 import com.arakviel.domain.enums.FileFormat;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.file.FileStorageService;
 import com.arakviel.infrastructure.file.exception.FileStorageException;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.PersistenceContext;
+import com.arakviel.infrastructure.persistence.Repository.SortKey;
 import com.arakviel.infrastructure.persistence.contract.AudiobookFileRepository;
 import com.arakviel.infrastructure.persistence.contract.AudiobookRepository;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
@@ -184,6 +188,30 @@ public class AudiobookServiceImpl implements AudiobookService {
         return audiobookRepository.findAll(offset, limit);
     }
 
+    /**
+     * Знаходить короткі дані аудіокниг для списку каталогу з пагінацією.
+     *
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return список проєкцій аудіокниг
+     */
+    @Override
+    public List<AudiobookSummary> findSummaries(int offset, int limit) {
+        return audiobookRepository.findAll(AudiobookSummary.class, null, "title", true, offset, limit);
+    }
+
+    /**
+     * Знаходить аудіокниги посторінково за курсором, упорядкованих за назвою.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка аудіокниг з курсором наступної сторінки
+     */
+    @Override
+    public Page<Audiobook> findAll(Cursor after, int limit) {
+        return audiobookRepository.findPage(null, SortKey.asc("title"), after, limit);
+    }
+
     /**
      * Знаходить всі файли, пов'язані з аудіокнигою.
      *
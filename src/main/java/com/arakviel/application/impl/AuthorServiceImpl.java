@@ -4,9 +4,13 @@ import com.arakviel.application.contract.AuthorService;
 import com.arakviel.application.exception.ValidationException;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.file.FileStorageService;
 import com.arakviel.infrastructure.file.exception.FileStorageException;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.PersistenceContext;
+import com.arakviel.infrastructure.persistence.Repository.SortKey;
 import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
 import org.springframework.stereotype.Service;
@@ -62,8 +66,7 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         // Перевірка на дублювання автора
-        List<Author> existingAuthors = authorRepository.findByName(author.getFirstName(), author.getLastName());
-        if (!existingAuthors.isEmpty()) {
+        if (authorRepository.existsByName(author.getFirstName(), author.getLastName())) {
             throw new ValidationException("Автор з таким ім'ям та прізвищем уже існує.");
         }
 
@@ -126,22 +129,24 @@ public class AuthorServiceImpl implements AuthorService {
      */
     @Override
     public void delete(UUID id) {
-        Optional<Author> authorOpt = authorRepository.findById(id);
-        if (authorOpt.isPresent()) {
-            Author author = authorOpt.get();
+        try (PersistenceContext.Scope scope = persistenceContext.openScope()) {
+            Optional<Author> authorOpt = authorRepository.findById(id);
+            if (authorOpt.isPresent()) {
+                Author author = authorOpt.get();
 
-            // Перевірка, чи автор пов'язаний з аудіокнигами
-            if (countAudiobooksByAuthorId(id) > 0) {
-                throw new ValidationException("Неможливо видалити автора, оскільки він пов'язаний з аудіокнигами.");
-            }
+                // Перевірка, чи автор пов'язаний з аудіокнигами
+                if (countAudiobooksByAuthorId(id) > 0) {
+                    throw new ValidationException("Неможливо видалити автора, оскільки він пов'язаний з аудіокнигами.");
+                }
 
-            // Видалення фотографії
-            if (author.getImagePath() != null) {
-                fileStorageService.delete(author.getImagePath(), id);
-            }
+                // Видалення фотографії
+                if (author.getImagePath() != null) {
+                    fileStorageService.delete(author.getImagePath(), id);
+                }
 
-            persistenceContext.registerDeleted(author);
-            persistenceContext.commit();
+                persistenceContext.registerDeleted(author);
+                persistenceContext.commit();
+            }
         }
     }
 
@@ -168,6 +173,18 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findAll(offset, limit);
     }
 
+    /**
+     * Знаходить авторів посторінково за курсором, упорядкованих за прізвищем.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка авторів з курсором наступної сторінки
+     */
+    @Override
+    public Page<Author> findAll(Cursor after, int limit) {
+        return authorRepository.findPage(null, SortKey.asc("last_name"), after, limit);
+    }
+
     /**
      * Знаходить авторів за ім'ям та прізвищем.
      *
@@ -211,6 +228,20 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findAudiobooksByAuthorId(authorId);
     }
 
+    /**
+     * Знаходить короткі дані аудіокниг автора для списків (без опису).
+     *
+     * @param authorId ідентифікатор автора
+     * @return список проєкцій аудіокниг
+     */
+    @Override
+    public List<AudiobookSummary> findAudiobookSummariesByAuthorId(UUID authorId) {
+        if (authorId == null) {
+            throw new ValidationException("Ідентифікатор автора не може бути null.");
+        }
+        return authorRepository.findAudiobookSummariesByAuthorId(authorId);
+    }
+
     /**
      * Підраховує кількість аудіокниг, пов'язаних з автором.
      *
@@ -0,0 +1,107 @@
+package com.arakviel.application.impl;
+
+import com.arakviel.application.contract.CatalogSearchService;
+import com.arakviel.application.exception.ValidationException;
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
+import com.arakviel.infrastructure.persistence.contract.AudiobookRepository;
+import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import com.arakviel.infrastructure.persistence.contract.GenreRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Реалізація повнотекстового пошуку по каталогу. Пошук виконується за індексами
+ * в пам'яті, які репозиторії підтримують актуальними після кожного запису, тож
+ * запит не сканує таблиці.
+ */
+@Service
+public class CatalogSearchServiceImpl implements CatalogSearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final AudiobookRepository audiobookRepository;
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+
+    /**
+     * Конструктор для ін'єкції залежностей.
+     *
+     * @param audiobookRepository репозиторій аудіокниг
+     * @param authorRepository    репозиторій авторів
+     * @param genreRepository     репозиторій жанрів
+     */
+    public CatalogSearchServiceImpl(
+            AudiobookRepository audiobookRepository,
+            AuthorRepository authorRepository,
+            GenreRepository genreRepository) {
+        this.audiobookRepository = audiobookRepository;
+        this.authorRepository = authorRepository;
+        this.genreRepository = genreRepository;
+    }
+
+    /**
+     * Шукає аудіокниги за назвою та описом.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка аудіокниг з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    @Override
+    public PageWithTotal<Audiobook> searchAudiobooks(String query, int offset, int limit) {
+        validatePaging(offset, limit);
+        return isBlank(query) ? emptyPage() : audiobookRepository.search(query, offset, limit);
+    }
+
+    /**
+     * Шукає авторів за ім'ям, прізвищем і біографією.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка авторів з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    @Override
+    public PageWithTotal<Author> searchAuthors(String query, int offset, int limit) {
+        validatePaging(offset, limit);
+        return isBlank(query) ? emptyPage() : authorRepository.search(query, offset, limit);
+    }
+
+    /**
+     * Шукає жанри за назвою та описом.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення для пагінації
+     * @param limit  кількість записів для отримання
+     * @return сторінка жанрів з кількістю всіх знайдених
+     * @throws ValidationException якщо параметри пагінації некоректні
+     */
+    @Override
+    public PageWithTotal<Genre> searchGenres(String query, int offset, int limit) {
+        validatePaging(offset, limit);
+        return isBlank(query) ? emptyPage() : genreRepository.search(query, offset, limit);
+    }
+
+    private void validatePaging(int offset, int limit) {
+        if (offset < 0) {
+            throw new ValidationException("Зміщення не може бути від'ємним.");
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new ValidationException("Кількість записів має бути від 1 до " + MAX_LIMIT + ".");
+        }
+    }
+
+    private static boolean isBlank(String query) {
+        return query == null || query.isBlank();
+    }
+
+    private static <T> PageWithTotal<T> emptyPage() {
+        return new PageWithTotal<>(List.of(), 0, true, false);
+    }
+}
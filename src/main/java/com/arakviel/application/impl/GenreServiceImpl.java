@@ -4,7 +4,11 @@ import com.arakviel.application.contract.GenreService;
 import com.arakviel.application.exception.ValidationException;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookSummary;
+import com.arakviel.infrastructure.persistence.Cursor;
+import com.arakviel.infrastructure.persistence.Page;
 import com.arakviel.infrastructure.persistence.PersistenceContext;
+import com.arakviel.infrastructure.persistence.Repository.SortKey;
 import com.arakviel.infrastructure.persistence.contract.GenreRepository;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
 import org.springframework.stereotype.Service;
@@ -74,19 +78,23 @@ public class GenreServiceImpl implements GenreService {
         validateGenre(genre);
         genre.setId(id);
 
-        // Перевірка існування жанру
-        if (!genreRepository.findById(id).isPresent()) {
-            throw new ValidationException("Жанр з ідентифікатором " + id + " не існує.");
-        }
+        try (PersistenceContext.Scope scope = persistenceContext.openScope()) {
+            // Перевірка існування жанру
+            if (!genreRepository.findById(id).isPresent()) {
+                throw new ValidationException("Жанр з ідентифікатором " + id + " не існує.");
+            }
 
-        // Перевірка на дублювання назви при оновленні
-        List<Genre> existingGenres = genreRepository.findByName(genre.getName());
-        if (!existingGenres.isEmpty() && !existingGenres.get(0).getId().equals(id)) {
-            throw new ValidationException("Жанр з назвою '" + genre.getName() + "' уже існує.");
-        }
+            // Перевірка на дублювання назви при оновленні
+            if (genreRepository.existsByName(genre.getName())) {
+                List<Genre> existingGenres = genreRepository.findByName(genre.getName());
+                if (!existingGenres.isEmpty() && !existingGenres.get(0).getId().equals(id)) {
+                    throw new ValidationException("Жанр з назвою '" + genre.getName() + "' уже існує.");
+                }
+            }
 
-        persistenceContext.registerUpdated(id, genre);
-        persistenceContext.commit();
+            persistenceContext.registerUpdated(id, genre);
+            persistenceContext.commit();
+        }
         return genre;
     }
 
@@ -99,15 +107,17 @@ public class GenreServiceImpl implements GenreService {
      */
     @Override
     public void delete(UUID id) {
-        Optional<Genre> genreOpt = genreRepository.findById(id);
-        if (genreOpt.isPresent()) {
-            // Перевірка, чи жанр пов'язаний з аудіокнигами
-            if (countAudiobooksByGenreId(id) > 0) {
-                throw new ValidationException("Неможливо видалити жанр, оскільки він пов'язаний з аудіокнигами.");
-            }
+        try (PersistenceContext.Scope scope = persistenceContext.openScope()) {
+            Optional<Genre> genreOpt = genreRepository.findById(id);
+            if (genreOpt.isPresent()) {
+                // Перевірка, чи жанр пов'язаний з аудіокнигами
+                if (countAudiobooksByGenreId(id) > 0) {
+                    throw new ValidationException("Неможливо видалити жанр, оскільки він пов'язаний з аудіокнигами.");
+                }
 
-            persistenceContext.registerDeleted(genreOpt.get());
-            persistenceContext.commit();
+                persistenceContext.registerDeleted(genreOpt.get());
+                persistenceContext.commit();
+            }
         }
     }
 
@@ -134,6 +144,18 @@ public class GenreServiceImpl implements GenreService {
         return genreRepository.findAll(offset, limit);
     }
 
+    /**
+     * Знаходить жанри посторінково за курсором, упорядкованих за назвою.
+     *
+     * @param after курсор попередньої сторінки (null - перша сторінка)
+     * @param limit кількість записів для отримання
+     * @return сторінка жанрів з курсором наступної сторінки
+     */
+    @Override
+    public Page<Genre> findAll(Cursor after, int limit) {
+        return genreRepository.findPage(null, SortKey.asc("name"), after, limit);
+    }
+
     /**
      * Знаходить жанри за назвою.
      *
@@ -176,6 +198,20 @@ public class GenreServiceImpl implements GenreService {
         return genreRepository.findAudiobooksByGenreId(genreId);
     }
 
+    /**
+     * Знаходить короткі дані аудіокниг жанру для списків (без опису).
+     *
+     * @param genreId ідентифікатор жанру
+     * @return список проєкцій аудіокниг
+     */
+    @Override
+    public List<AudiobookSummary> findAudiobookSummariesByGenreId(UUID genreId) {
+        if (genreId == null) {
+            throw new ValidationException("Ідентифікатор жанру не може бути null.");
+        }
+        return genreRepository.findAudiobookSummariesByGenreId(genreId);
+    }
+
     /**
      * Знаходить жанри, пов'язані з аудіокнигою.
      *
@@ -0,0 +1,15 @@
+package com.arakviel.domain.projections;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+
+/**
+ * Аудіокнига разом з автором і жанром, на які посилаються її authorId та genreId.
+ *
+ * @param audiobook аудіокнига
+ * @param author    автор або null, якщо його не знайдено
+ * @param genre     жанр або null, якщо його не знайдено
+ */
+public record AudiobookDetails(Audiobook audiobook, Author author, Genre genre) {
+}
@@ -0,0 +1,19 @@
+package com.arakviel.domain.projections;
+
+import java.util.UUID;
+
+/**
+ * Проєкція аудіокниги для списків каталогу: лише поля, що показуються в переліку,
+ * без опису та ідентифікаторів зв'язків.
+ *
+ * @param id             ідентифікатор аудіокниги
+ * @param title          назва аудіокниги
+ * @param duration       тривалість у секундах
+ * @param coverImagePath шлях до обкладинки
+ */
+public record AudiobookSummary(
+        UUID id,
+        String title,
+        int duration,
+        String coverImagePath) {
+}
@@ -0,0 +1,28 @@
+package com.arakviel.domain.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Проєкція для списку «Продовжити прослуховування»: дані аудіокниги та автора разом
+ * з останньою позицією користувача.
+ *
+ * @param audiobookId     ідентифікатор аудіокниги
+ * @param title           назва аудіокниги
+ * @param duration        тривалість у секундах
+ * @param coverImagePath  шлях до обкладинки
+ * @param authorFirstName ім'я автора
+ * @param authorLastName  прізвище автора
+ * @param position        позиція прослуховування в секундах
+ * @param lastListened    час останнього прослуховування
+ */
+public record RecentAudiobook(
+        UUID audiobookId,
+        String title,
+        int duration,
+        String coverImagePath,
+        String authorFirstName,
+        String authorLastName,
+        int position,
+        LocalDateTime lastListened) {
+}
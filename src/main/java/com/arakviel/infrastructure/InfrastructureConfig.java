@@ -2,34 +2,26 @@ package com.arakviel.infrastructure;
 
 import com.arakviel.infrastructure.file.FileStorageService;
 import com.arakviel.infrastructure.file.impl.FileStorageServiceImpl;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
+import com.arakviel.infrastructure.persistence.contract.ListeningProgressRepository;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool.PoolConfig;
+import com.arakviel.infrastructure.persistence.util.ListeningProgressWriteBuffer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
 
 @Configuration
 @ComponentScan("com.arakviel.infrastructure")
 @PropertySource("classpath:application.properties")
 public class InfrastructureConfig {
 
-    @Value("${db.url}")
-    private String dbUrl;
-
-    @Value("${db.username}")
-    private String dbUsername;
-
-    @Value("${db.password}")
-    private String dbPassword;
-
-    @Value("${db.pool.size}")
-    private int dbPoolSize;
-
-    @Value("${db.auto.commit}")
-    private boolean dbAutoCommit;
-
     @Value("${file.storage.root}")
     private String storageRootPath;
 
@@ -39,16 +31,50 @@ public class InfrastructureConfig {
     @Value("${file.storage.max-size}")
     private long maxFileSize;
 
+    @Value("${progress.write-behind.flush-interval-ms:1000}")
+    private long progressFlushIntervalMs;
+
+    @Value("${progress.write-behind.max-pending:10000}")
+    private int progressMaxPending;
+
+    @Value("${cache.entity.max-size:1000}")
+    private int entityCacheMaxSize;
+
+    @Value("${cache.entity.ttl-ms:300000}")
+    private long entityCacheTtlMs;
+
+    @Value("${cache.existence.expected-values:100000}")
+    private int existenceExpectedValues;
+
+    @Value("${cache.query.max-rows:10000}")
+    private long queryCacheMaxRows;
+
+    @Bean
+    public ConnectionPool connectionPool(Environment environment) {
+        return new ConnectionPool(PoolConfig.fromProperties(environment::getProperty));
+    }
+
+    @Bean
+    public ListeningProgressWriteBuffer listeningProgressWriteBuffer(ListeningProgressRepository repository) {
+        return new ListeningProgressWriteBuffer(
+                repository, Duration.ofMillis(progressFlushIntervalMs), progressMaxPending);
+    }
+
+    @Bean
+    public EntityCacheManager entityCacheManager(Environment environment) {
+        EntityCacheManager.Settings settings = new EntityCacheManager.Settings(
+                tableName -> environment.getProperty("cache.entity." + tableName + ".enabled", Boolean.class, false),
+                entityCacheMaxSize,
+                Duration.ofMillis(entityCacheTtlMs),
+                existenceExpectedValues,
+                queryCacheMaxRows);
+        return new EntityCacheManager(settings);
+    }
+
     @Bean
-    public ConnectionPool connectionPool() {
-        PoolConfig poolConfig = new PoolConfig.Builder()
-                .withUrl(dbUrl)
-                .withUser(dbUsername)
-                .withPassword(dbPassword)
-                .withMaxConnections(dbPoolSize)
-                .withAutoCommit(dbAutoCommit)
-                .build();
-        return new ConnectionPool(poolConfig);
+    public SearchIndexRegistry searchIndexRegistry(Environment environment) {
+        return new SearchIndexRegistry(
+                tableName -> environment.getProperty("search.trigram." + tableName + ".enabled", Boolean.class, false));
     }
 
     @Bean
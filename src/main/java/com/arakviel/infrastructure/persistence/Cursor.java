@@ -0,0 +1,129 @@
+package com.arakviel.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Позиція продовження для посторінкової вибірки за ключем (keyset pagination):
+ * значення колонки сортування та id останнього рядка попередньої сторінки.
+ * Клієнти отримують курсор як непрозорий рядок {@link #encode()} і повертають його
+ * для запиту наступної сторінки ({@link #decode(String)}).
+ */
+public final class Cursor {
+
+    private static final String SEPARATOR = ".";
+
+    private final Object sortValue;
+    private final Object id;
+
+    Cursor(Object sortValue, Object id) {
+        this.sortValue = sortValue;
+        this.id = Objects.requireNonNull(id, "Ідентифікатор курсора не може бути null");
+    }
+
+    /**
+     * Значення колонки сортування останнього рядка; null, якщо сортування за id.
+     */
+    Object sortValue() {
+        return sortValue;
+    }
+
+    Object id() {
+        return id;
+    }
+
+    /**
+     * Подання курсора непрозорим рядком, безпечним для URL.
+     *
+     * @return закодований курсор
+     */
+    public String encode() {
+        return encodeValue(sortValue) + SEPARATOR + encodeValue(id);
+    }
+
+    /**
+     * Відновлення курсора з рядка, отриманого від {@link #encode()}.
+     *
+     * @param token закодований курсор
+     * @return курсор
+     * @throws IllegalArgumentException якщо рядок не є курсором
+     */
+    public static Cursor decode(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Курсор не може бути null");
+        }
+        int separator = token.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Некоректний курсор: " + token);
+        }
+        return new Cursor(decodeValue(token.substring(0, separator)), decodeValue(token.substring(separator + 1)));
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "0";
+        }
+        char tag = switch (value) {
+            case String ignored -> 'S';
+            case UUID ignored -> 'U';
+            case Integer ignored -> 'I';
+            case Long ignored -> 'L';
+            case Boolean ignored -> 'B';
+            case BigDecimal ignored -> 'N';
+            case Double ignored -> 'D';
+            case Timestamp ignored -> 'T';
+            default -> throw new IllegalArgumentException(
+                    "Тип значення курсора не підтримується: " + value.getClass().getName());
+        };
+        String text = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value.toString();
+        return tag + Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object decodeValue(String part) {
+        if (part.isEmpty()) {
+            throw new IllegalArgumentException("Некоректний курсор");
+        }
+        if (part.equals("0")) {
+            return null;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(part.substring(1)), StandardCharsets.UTF_8);
+            return switch (part.charAt(0)) {
+                case 'S' -> text;
+                case 'U' -> UUID.fromString(text);
+                case 'I' -> Integer.valueOf(text);
+                case 'L' -> Long.valueOf(text);
+                case 'B' -> Boolean.valueOf(text);
+                case 'N' -> new BigDecimal(text);
+                case 'D' -> Double.valueOf(text);
+                case 'T' -> Timestamp.valueOf(LocalDateTime.parse(text));
+                default -> throw new IllegalArgumentException("Некоректний курсор");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некоректний курсор", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Cursor cursor = (Cursor) o;
+        return Objects.equals(sortValue, cursor.sortValue) && Objects.equals(id, cursor.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortValue, id);
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -1,15 +1,30 @@
 package com.arakviel.infrastructure.persistence;
 
-import com.arakviel.domain.enums.FileFormat;
+import com.arakviel.infrastructure.persistence.cache.EntityCache;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
+import com.arakviel.infrastructure.persistence.cache.ExistenceIndex;
+import com.arakviel.infrastructure.persistence.cache.QueryResultCache;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
-import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
+import com.arakviel.infrastructure.persistence.metadata.ColumnMetadata;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+import com.arakviel.infrastructure.persistence.metadata.EntityParameterBinder;
+import com.arakviel.infrastructure.persistence.metadata.RecordProjection;
+import com.arakviel.infrastructure.persistence.metadata.RowLayout;
+import com.arakviel.infrastructure.persistence.metadata.ValueConverter;
+import com.arakviel.infrastructure.persistence.search.InvertedIndex;
+import com.arakviel.infrastructure.persistence.search.TrigramIndex;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
+import com.arakviel.infrastructure.persistence.util.SqlTemplateCache;
+import org.springframework.beans.factory.annotation.Value;
 
-import java.lang.reflect.Field;
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Абстрактний клас для загальних операцій з базою даних.
@@ -19,33 +34,137 @@ import java.util.function.Function;
  */
 public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
 
+    private static final int SQL_CACHE_SIZE = 128;
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+
     protected final ConnectionPool connectionPool;
     protected final Class<T> entityClass;
     protected final String tableName;
+    protected final EntityMetadata<T> metadata;
+    private final String insertSql;
+    private final String updateSql;
+    private final SqlTemplateCache sqlCache = new SqlTemplateCache(SQL_CACHE_SIZE);
+    private final EntityCache<ID, T> entityCache;
+    private final QueryResultCache queryCache;
+    private final List<IndexedColumn> indexedColumns = new CopyOnWriteArrayList<>();
+    private TextColumns<ID> textColumns;
+    private TrigramColumns<ID> trigramColumns;
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
 
     /**
      * Конструктор репозиторію.
+     * Метадані сутності та SQL для вставки й оновлення будуються один раз тут.
+     * Якщо для таблиці увімкнено кеш сутностей, findById і findAllByIds спершу шукають
+     * у ньому, а записи через репозиторій вилучають змінені рядки з кешу.
      *
-     * @param connectionPool пул з'єднань до бази даних
-     * @param entityClass    клас сутності
-     * @param tableName      назва таблиці в базі даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityClass        клас сутності
+     * @param tableName          назва таблиці в базі даних
+     * @param entityCacheManager реєстр кешів сутностей і запитів
      */
-    protected GenericRepository(ConnectionPool connectionPool, Class<T> entityClass, String tableName) {
+    protected GenericRepository(ConnectionPool connectionPool, Class<T> entityClass, String tableName,
+                                EntityCacheManager entityCacheManager) {
         this.connectionPool = connectionPool;
         this.entityClass = entityClass;
         this.tableName = tableName;
+        this.metadata = EntityMetadata.of(entityClass);
+        this.insertSql = metadata.buildInsertSql(tableName);
+        this.updateSql = metadata.buildUpdateSql(tableName);
+        this.entityCache = entityCacheManager.cacheFor(tableName, entityClass);
+        this.queryCache = entityCacheManager.queryResultCache();
+    }
+
+    /**
+     * Розмір порції рядків, що драйвер читає за одне звернення під час потокової вибірки.
+     *
+     * @param streamFetchSize кількість рядків; 0 залишає значення драйвера
+     */
+    @Value("${repository.stream.fetch-size:" + DEFAULT_STREAM_FETCH_SIZE + "}")
+    public void setStreamFetchSize(int streamFetchSize) {
+        this.streamFetchSize = Math.max(0, streamFetchSize);
     }
 
 
     /**
      * Пошук сутності за ідентифікатором.
+     * Всередині області {@link PersistenceContext#openScope()} уже завантажена сутність
+     * повертається з мапи ідентичності без SQL-запиту.
      *
      * @param id ідентифікатор сутності
      * @return Optional із знайденою сутністю або порожній, якщо не знайдено
      */
     @Override
     public Optional<T> findById(ID id) {
-        return findByField("id", id).stream().findFirst();
+        UnitOfWork unitOfWork = UnitOfWork.currentScoped();
+        if (unitOfWork != null) {
+            T loaded = unitOfWork.lookup(entityClass, id);
+            if (loaded != null) {
+                return Optional.of(loaded);
+            }
+        }
+        EntityCache<ID, T> cache = readableCache();
+        if (cache == null) {
+            return findByField("id", id).stream().findFirst();
+        }
+        T cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(unitOfWork == null ? cached : unitOfWork.identify(entityClass, id, cached));
+        }
+        long token = cache.readToken();
+        Optional<T> found = findByField("id", id).stream().findFirst();
+        found.ifPresent(entity -> cache.putIfFresh(id, entity, token));
+        return found;
+    }
+
+    /**
+     * Пакетне завантаження сутностей за ідентифікаторами. Ідентифікатори передаються масивом
+     * в один параметр {@code id = ANY(?)}, тож форма SQL не залежить від їх кількості;
+     * великі набори розбиваються на порції по {@value #ID_CHUNK_SIZE}. Всередині області
+     * {@link PersistenceContext#openScope()} уже завантажені сутності беруться з мапи ідентичності.
+     *
+     * @param ids ідентифікатори (повтори та null ігноруються)
+     * @return знайдені сутності за ідентифікатором у порядку переданих ідентифікаторів
+     */
+    @Override
+    public Map<ID, T> findAllByIds(Collection<ID> ids) {
+        Map<ID, T> found = new LinkedHashMap<>();
+        List<ID> missing = new ArrayList<>();
+        UnitOfWork unitOfWork = UnitOfWork.currentScoped();
+        EntityCache<ID, T> cache = readableCache();
+        long token = cache != null ? cache.readToken() : 0;
+        for (ID id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            T loaded = unitOfWork != null ? unitOfWork.lookup(entityClass, id) : null;
+            if (loaded == null && cache != null) {
+                loaded = cache.get(id);
+                if (loaded != null && unitOfWork != null) {
+                    loaded = unitOfWork.identify(entityClass, id, loaded);
+                }
+            }
+            if (loaded != null) {
+                found.put(id, loaded);
+            } else {
+                found.put(id, null); // Зберігаємо порядок переданих ідентифікаторів
+                missing.add(id);
+            }
+        }
+        String sql = sqlCache.get("findAllByIds", () -> String.format("SELECT * FROM %s WHERE id = ANY(?)", tableName));
+        for (int from = 0; from < missing.size(); from += ID_CHUNK_SIZE) {
+            Object[] chunk = missing.subList(from, Math.min(from + ID_CHUNK_SIZE, missing.size())).toArray();
+            for (T entity : executeQuery(sql, stmt -> stmt.setObject(1, chunk))) {
+                @SuppressWarnings("unchecked")
+                ID id = (ID) metadata.getId(entity);
+                found.put(id, entity);
+                if (cache != null) {
+                    cache.putIfFresh(id, entity, token);
+                }
+            }
+        }
+        found.values().removeIf(Objects::isNull);
+        return found;
     }
 
     /**
@@ -57,7 +176,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findByField(String fieldName, Object value) {
-        String sql = String.format("SELECT * FROM %s WHERE %s = ?", tableName, fieldName);
+        String sql = sqlCache.get("findByField|" + fieldName,
+                () -> String.format("SELECT * FROM %s WHERE %s = ?", tableName, fieldName));
         return executeQuery(sql, stmt -> stmt.setObject(1, value));
     }
 
@@ -74,23 +194,26 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll(Filter filter, String sortBy, boolean isAscending, int offset, int limit, String baseSql) {
-        StringJoiner sql = new StringJoiner(" ");
-        sql.add(baseSql);
         List<Object> parameters = new ArrayList<>();
-
-        if (filter != null) {
-            StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
-            filter.apply(whereClause, parameters);
-            sql.add(whereClause.toString());
-        }
-        if (sortBy != null && !sortBy.isEmpty()) {
-            sql.add("ORDER BY " + sortBy + (isAscending ? " ASC" : " DESC"));
-        }
-        sql.add("LIMIT ? OFFSET ?");
+        String where = applyFilter(filter, parameters);
+        boolean sorted = sortBy != null && !sortBy.isEmpty();
+        String key = "findAll|" + baseSql + "|" + where + "|" + (sorted ? sortBy + (isAscending ? " ASC" : " DESC") : "");
+        String sql = sqlCache.get(key, () -> {
+            StringJoiner joiner = new StringJoiner(" ");
+            joiner.add(baseSql);
+            if (filter != null) {
+                joiner.add(where);
+            }
+            if (sorted) {
+                joiner.add("ORDER BY " + sortBy + (isAscending ? " ASC" : " DESC"));
+            }
+            joiner.add("LIMIT ? OFFSET ?");
+            return joiner.toString();
+        });
         parameters.add(limit);
         parameters.add(offset);
 
-        return executeQuery(sql.toString(), stmt -> setParameters(stmt, parameters));
+        return executeQuery(sql, stmt -> setParameters(stmt, parameters));
     }
 
     /**
@@ -105,7 +228,208 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll(Filter filter, String sortBy, boolean isAscending, int offset, int limit) {
-        return findAll(filter, sortBy, isAscending, offset, limit, String.format("SELECT * FROM %s", tableName));
+        return findAll(filter, sortBy, isAscending, offset, limit, selectAllSql());
+    }
+
+    /**
+     * Пошук з вибіркою лише колонок record-проєкції.
+     *
+     * @param projection  клас record-проєкції
+     * @param filter      фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy      колонка сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset      зміщення для пагінації
+     * @param limit       ліміт кількості записів
+     * @param <P>         тип проєкції
+     * @return список проєкцій
+     */
+    @Override
+    public <P extends Record> List<P> findAll(Class<P> projection, Filter filter, String sortBy, boolean isAscending,
+                                              int offset, int limit) {
+        RecordProjection<P> recordProjection = RecordProjection.of(projection);
+        List<Object> parameters = new ArrayList<>();
+        String where = applyFilter(filter, parameters);
+        String orderBy = sortBy == null || sortBy.isEmpty()
+                ? ""
+                : " ORDER BY " + sortColumn(sortBy).columnName() + (isAscending ? " ASC" : " DESC");
+        String sql = sqlCache.get("findAllAs|" + projection.getName() + "|" + where + "|" + orderBy,
+                () -> String.format("SELECT %s FROM %s%s%s LIMIT ? OFFSET ?",
+                        recordProjection.selectList(), tableName, where, orderBy));
+        parameters.add(limit);
+        parameters.add(offset);
+        return executeQuery(sql, stmt -> setParameters(stmt, parameters), recordProjection::map);
+    }
+
+    /**
+     * Посторінкова вибірка за ключем. Умова продовження має вигляд
+     * {@code (column, id) > (?, ?)}, тож з індексом по (column, id) база читає лише
+     * limit + 1 рядків незалежно від глибини сторінки.
+     *
+     * @param filter  фільтр для вибірки та пошуку (може бути null)
+     * @param sortKey ключ сортування (null - за id)
+     * @param after   курсор попередньої сторінки (null - перша сторінка)
+     * @param limit   розмір сторінки
+     * @return сторінка з курсором продовження
+     */
+    @Override
+    public Page<T> findPage(Filter filter, SortKey sortKey, Cursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки має бути більше 0");
+        }
+        SortKey key = sortKey != null ? sortKey : SortKey.BY_ID;
+        ColumnMetadata sortColumn = sortColumn(key.column());
+        boolean byId = sortColumn.isId();
+        String column = sortColumn.columnName();
+        String direction = key.ascending() ? "ASC" : "DESC";
+
+        List<Object> parameters = new ArrayList<>();
+        StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
+        whereClause.setEmptyValue("");
+        if (filter != null) {
+            filter.apply(whereClause, parameters);
+        }
+        if (after != null) {
+            String comparison = key.ascending() ? ">" : "<";
+            if (byId) {
+                whereClause.add("id " + comparison + " ?");
+            } else {
+                whereClause.add("(" + column + ", id) " + comparison + " (?, ?)");
+                parameters.add(after.sortValue());
+            }
+            parameters.add(after.id());
+        }
+        String where = whereClause.toString();
+        String orderBy = byId ? "id " + direction : column + " " + direction + ", id " + direction;
+        String sql = sqlCache.get("findPage|" + where + "|" + orderBy,
+                () -> String.format("SELECT * FROM %s%s ORDER BY %s LIMIT ?", tableName, where, orderBy));
+        parameters.add(limit + 1);
+
+        List<T> rows = executeQuery(sql, stmt -> setParameters(stmt, parameters));
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        T last = items.getLast();
+        Object sortValue = null;
+        if (!byId) {
+            sortValue = sortColumn.toDatabase(last);
+            if (sortValue == null) {
+                throw new IllegalStateException("Колонка " + column + " містить NULL і не підходить для вибірки за ключем");
+            }
+        }
+        return new Page<>(items, new Cursor(sortValue, metadata.getId(last)));
+    }
+
+    /**
+     * Сторінка за зміщенням разом із загальною кількістю рядків. Рядки сторінки, ознака
+     * наступної сторінки (вибирається limit + 1 рядків) і кількість отримуються одним
+     * запитом: точна кількість обчислюється віконною функцією {@code COUNT(*) OVER()}.
+     * Лише якщо зміщення виходить за межі результату, кількість підраховується окремим
+     * запитом на тому ж з'єднанні.
+     *
+     * @param filter      фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy      колонка сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset      зміщення для пагінації
+     * @param limit       розмір сторінки
+     * @param totalMode   спосіб отримання загальної кількості
+     * @return сторінка з кількістю рядків
+     */
+    @Override
+    public PageWithTotal<T> findPageWithTotal(Filter filter, String sortBy, boolean isAscending, int offset,
+                                              int limit, TotalMode totalMode) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки має бути більше 0");
+        }
+        TotalMode mode = totalMode != null ? totalMode : TotalMode.EXACT;
+        if (mode == TotalMode.ESTIMATED && filter != null) {
+            mode = TotalMode.EXACT;
+        }
+        boolean windowCount = mode == TotalMode.EXACT;
+        String orderBy = sortBy == null || sortBy.isEmpty()
+                ? ""
+                : " ORDER BY " + sortColumn(sortBy).columnName() + (isAscending ? " ASC" : " DESC");
+
+        List<Object> parameters = new ArrayList<>();
+        String where = applyFilter(filter, parameters);
+        String sql = sqlCache.get("findPageWithTotal|" + windowCount + "|" + where + "|" + orderBy,
+                () -> String.format("SELECT %s.*%s FROM %s%s%s LIMIT ? OFFSET ?",
+                        tableName, windowCount ? ", COUNT(*) OVER() AS total_count" : "",
+                        tableName, where, orderBy));
+        List<Object> pageParameters = new ArrayList<>(parameters);
+        pageParameters.add(limit + 1);
+        pageParameters.add(offset);
+
+        try (Connection connection = getConnection()) {
+            List<T> rows = new ArrayList<>();
+            long total = PageWithTotal.UNKNOWN_TOTAL;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                setParameters(statement, pageParameters);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        RowLayout<T> layout = metadata.layoutFor(sql, resultSet);
+                        if (windowCount) {
+                            total = resultSet.getLong("total_count");
+                        }
+                        do {
+                            rows.add(layout.map(resultSet));
+                        } while (resultSet.next());
+                    }
+                }
+            }
+            boolean hasMore = rows.size() > limit;
+            List<T> items = hasMore ? rows.subList(0, limit) : rows;
+            return switch (mode) {
+                case EXACT -> new PageWithTotal<>(items,
+                        total != PageWithTotal.UNKNOWN_TOTAL ? total : countOn(connection, where, parameters),
+                        true, hasMore);
+                case ESTIMATED -> new PageWithTotal<>(items,
+                        Math.max(estimatedRowCount(connection), (long) offset + rows.size()), false, hasMore);
+                case NONE -> new PageWithTotal<>(items, PageWithTotal.UNKNOWN_TOTAL, false, hasMore);
+            };
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка виконання запиту: " + sql, e);
+        }
+    }
+
+    private long countOn(Connection connection, String where, List<Object> parameters) throws SQLException {
+        String sql = sqlCache.get("count|" + tableName + "|" + where,
+                () -> String.format("SELECT COUNT(*) FROM %s%s", tableName, where));
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Оцінка кількості рядків таблиці зі статистики H2 без сканування.
+     */
+    private long estimatedRowCount(Connection connection) throws SQLException {
+        String sql = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = SCHEMA() AND LOWER(TABLE_NAME) = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, tableName.toLowerCase(Locale.ROOT));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Пошук колонки сортування серед колонок сутності; захищає SQL від довільних назв.
+     *
+     * @param column назва колонки
+     * @return метадані колонки
+     */
+    private ColumnMetadata sortColumn(String column) {
+        for (ColumnMetadata candidate : metadata.columns()) {
+            if (candidate.columnName().equals(column)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Невідома колонка сортування для " + tableName + ": " + column);
     }
 
     /**
@@ -115,8 +439,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll() {
-        String sql = String.format("SELECT * FROM %s", tableName);
-        return executeQuery(sql, stmt -> {
+        return executeQuery(selectAllSql(), stmt -> {
         });
     }
 
@@ -129,13 +452,44 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public List<T> findAll(int offset, int limit) {
-        String sql = String.format("SELECT * FROM %s LIMIT ? OFFSET ?", tableName);
+        String sql = sqlCache.get("findAllPaged",
+                () -> String.format("SELECT * FROM %s LIMIT ? OFFSET ?", tableName));
         return executeQuery(sql, stmt -> {
             stmt.setInt(1, limit);
             stmt.setInt(2, offset);
         });
     }
 
+    /**
+     * Потокова вибірка сутностей без завантаження всього результату в пам'ять.
+     * Драйвер читає рядки порціями розміру {@link #setStreamFetchSize(int)}; з'єднання
+     * утримується лише поки потік читається і повертається в пул при вичерпанні або закритті.
+     * Рядки не потрапляють у мапу ідентичності.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @return потік сутностей, який слід закрити
+     */
+    @Override
+    public Stream<T> stream(Filter filter) {
+        List<Object> parameters = new ArrayList<>();
+        String where = applyFilter(filter, parameters);
+        String sql = sqlCache.get("stream|" + where, () -> selectAllSql() + where);
+        return stream(sql, stmt -> setParameters(stmt, parameters), metadata);
+    }
+
+    /**
+     * Обробка кожної сутності вибірки по одній з гарантованим звільненням з'єднання.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param action дія для кожної сутності
+     */
+    @Override
+    public void forEach(Filter filter, Consumer<? super T> action) {
+        try (Stream<T> entities = stream(filter)) {
+            entities.forEach(action);
+        }
+    }
+
     /**
      * Підрахунок кількості сутностей, що відповідають фільтру або умовам пошуку.
      *
@@ -155,18 +509,13 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return кількість записів
      */
     protected long count(Filter filter, String tableName) {
-        StringJoiner sql = new StringJoiner(" ");
-        sql.add(String.format("SELECT COUNT(*) FROM %s", tableName));
         List<Object> parameters = new ArrayList<>();
+        String where = applyFilter(filter, parameters);
+        String sql = sqlCache.get("count|" + tableName + "|" + where,
+                () -> String.format("SELECT COUNT(*) FROM %s%s", tableName, where));
 
-        if (filter != null) {
-            StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
-            filter.apply(whereClause, parameters);
-            sql.add(whereClause.toString());
-        }
-
-        try (Connection connection = connectionPool.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             setParameters(statement, parameters);
             try (ResultSet resultSet = statement.executeQuery()) {
                 return resultSet.next() ? resultSet.getLong(1) : 0;
@@ -176,6 +525,393 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Перевірка існування хоча б одного рядка, що відповідає фільтру. На відміну від
+     * {@code count(filter) > 0} база зупиняється на першому знайденому рядку.
+     *
+     * @param filter фільтр для вибірки (може бути null)
+     * @return true, якщо такий рядок існує
+     */
+    protected boolean exists(Filter filter) {
+        List<Object> parameters = new ArrayList<>();
+        String where = applyFilter(filter, parameters);
+        String sql = sqlCache.get("exists|" + where,
+                () -> String.format("SELECT 1 FROM %s%s LIMIT 1", tableName, where));
+
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка перевірки існування запису в таблиці " + tableName, e);
+        }
+    }
+
+    /**
+     * Перевірка існування рядка з заданим значенням колонки. Якщо для колонки підключено
+     * {@link ExistenceIndex}, більшість перевірок отримує відповідь без запиту до бази.
+     *
+     * @param column назва колонки
+     * @param value  значення
+     * @return true, якщо рядок з таким значенням існує
+     */
+    protected boolean existsBy(String column, Object value) {
+        IndexedColumn indexed = indexedColumn(column);
+        boolean useIndex = indexed != null && value != null && UnitOfWork.boundConnection() == null;
+        if (useIndex) {
+            warm(indexed);
+            ExistenceIndex.Answer answer = indexed.index().lookup(value.toString());
+            if (answer != ExistenceIndex.Answer.UNKNOWN) {
+                return answer == ExistenceIndex.Answer.PRESENT;
+            }
+        }
+        long token = useIndex ? indexed.index().readToken() : 0;
+        String columnName = sortColumn(column).columnName();
+        boolean exists = exists((whereClause, params) -> {
+            whereClause.add(columnName + " = ?");
+            params.add(value);
+        });
+        if (exists && useIndex) {
+            indexed.index().confirm(value.toString(), token);
+        }
+        return exists;
+    }
+
+    /**
+     * Підключення індексу існування до колонки. Записи через репозиторій додають нові
+     * значення колонки до індексу.
+     *
+     * @param column назва колонки
+     * @param index  індекс існування
+     */
+    protected final void indexExistence(String column, ExistenceIndex index) {
+        indexedColumns.add(new IndexedColumn(sortColumn(column), index));
+    }
+
+    private IndexedColumn indexedColumn(String column) {
+        for (IndexedColumn indexed : indexedColumns) {
+            if (indexed.column().columnName().equals(column)) {
+                return indexed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Заповнення індексу всіма значеннями колонки при першій перевірці.
+     */
+    private void warm(IndexedColumn indexed) {
+        ExistenceIndex index = indexed.index();
+        if (index.isWarm()) {
+            return;
+        }
+        synchronized (index) {
+            if (!index.isWarm()) {
+                String column = indexed.column().columnName();
+                String sql = String.format("SELECT %s FROM %s WHERE %s IS NOT NULL", column, tableName, column);
+                index.warm(executeQuery(sql, stmt -> {
+                }, rs -> {
+                    try {
+                        return rs.getString(1);
+                    } catch (SQLException e) {
+                        throw new DatabaseAccessException("Помилка читання колонки " + column, e);
+                    }
+                }));
+            }
+        }
+    }
+
+    /**
+     * Додавання значень до фільтрів індексів існування до запису, щоб паралельна перевірка
+     * не отримала «немає» для значення, яке от-от з'явиться. Підтверджені значення
+     * забуваються пізніше, в {@link #invalidateCached}, коли зміну вже видно.
+     *
+     * @param entities записувані сутності
+     */
+    private void indexWritten(Iterable<T> entities) {
+        for (IndexedColumn indexed : indexedColumns) {
+            for (T entity : entities) {
+                Object value = indexed.column().toDatabase(entity);
+                if (value != null) {
+                    indexed.index().add(value.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Підключення повнотекстового індексу до текстових колонок. Індекс заповнюється при
+     * першому пошуку, а після записів через репозиторій і після транзакцій змінені рядки
+     * перечитуються з бази й переіндексовуються.
+     *
+     * @param index   повнотекстовий індекс
+     * @param columns колонки, текст яких індексується
+     */
+    protected final void indexText(InvertedIndex<ID> index, String... columns) {
+        List<String> columnNames = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            columnNames.add(sortColumn(column).columnName());
+        }
+        String select = String.format("SELECT id, %s FROM %s", String.join(", ", columnNames), tableName);
+        this.textColumns = new TextColumns<>(index, select, columnNames.size());
+    }
+
+    /**
+     * Повнотекстовий пошук за підключеним індексом з ранжуванням BM25. Сутності сторінки
+     * завантажуються одним запитом {@link #findAllByIds}; індекс відображає закомічений
+     * стан таблиці.
+     *
+     * @param query  текст запиту
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка сутностей від найрелевантнішої з кількістю всіх знайдених
+     */
+    protected PageWithTotal<T> searchText(String query, int offset, int limit) {
+        if (textColumns == null) {
+            throw new IllegalStateException("Для таблиці " + tableName + " не підключено повнотекстовий індекс");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Зміщення не може бути від'ємним");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки має бути більше 0");
+        }
+        warmText();
+        List<InvertedIndex.Hit<ID>> hits = textColumns.index().search(query);
+        int from = Math.min(offset, hits.size());
+        int to = (int) Math.min((long) from + limit, hits.size());
+        List<ID> ids = new ArrayList<>(to - from);
+        for (InvertedIndex.Hit<ID> hit : hits.subList(from, to)) {
+            ids.add(hit.id());
+        }
+        Map<ID, T> loaded = findAllByIds(ids);
+        List<T> items = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                items.add(entity);
+            }
+        }
+        return new PageWithTotal<>(items, hits.size(), true, to < hits.size());
+    }
+
+    private void warmText() {
+        InvertedIndex<ID> index = textColumns.index();
+        if (index.isWarm()) {
+            return;
+        }
+        synchronized (index) {
+            if (!index.isWarm()) {
+                index.startWarming();
+                Set<ID> changed = index.warm(readTexts(textColumns.select(), stmt -> {
+                }));
+                if (!changed.isEmpty()) {
+                    reindexText(changed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Переіндексація змінених рядків: наявні рядки перечитуються, видалені вилучаються
+     * з індексу. Рядки читаються окремим запитом, а не з мапи ідентичності, щоб після
+     * відкату транзакції індекс не побачив незбережених змін.
+     * <p>
+     * Читання й оновлення виконуються під монітором індексу, як і заповнення: інакше
+     * паралельні записи того самого рядка могли б застосувати старіше прочитане значення
+     * після новішого. Під монітором кожне наступне перечитування бачить усі записи,
+     * закомічені до нього.
+     *
+     * @param ids ідентифікатори змінених рядків
+     */
+    private void reindexText(Collection<?> ids) {
+        InvertedIndex<ID> index = textColumns.index();
+        Object[] chunk = ids.toArray();
+        synchronized (index) {
+            Map<ID, String> texts = readTexts(textColumns.select() + " WHERE id = ANY(?)",
+                    stmt -> stmt.setObject(1, chunk));
+            for (Object id : ids) {
+                @SuppressWarnings("unchecked")
+                ID typedId = (ID) id;
+                String text = texts.get(typedId);
+                if (text != null) {
+                    index.put(typedId, text);
+                } else {
+                    index.remove(typedId);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<ID> castIds(Collection<?> ids) {
+        return (Collection<ID>) ids;
+    }
+
+    private Map<ID, String> readTexts(String sql, ParameterSetter parameterSetter) {
+        Map<ID, String> texts = new HashMap<>();
+        readColumns(sql, textColumns.columnCount(), parameterSetter)
+                .forEach((id, values) -> texts.put(id, String.join(" ", values)));
+        return texts;
+    }
+
+    /**
+     * Читання ідентифікатора і текстових колонок для індексів у пам'яті.
+     *
+     * @param sql             запит, що повертає id і текстові колонки
+     * @param columnCount     кількість текстових колонок
+     * @param parameterSetter встановлення параметрів запиту
+     * @return непорожні значення колонок за ідентифікатором
+     */
+    private Map<ID, List<String>> readColumns(String sql, int columnCount, ParameterSetter parameterSetter) {
+        Class<?> idType = metadata.idColumn().type();
+        Map<ID, List<String>> rows = new HashMap<>();
+        executeQuery(sql, parameterSetter, rs -> {
+            try {
+                @SuppressWarnings("unchecked")
+                ID id = (ID) rs.getObject(1, idType);
+                List<String> values = new ArrayList<>(columnCount);
+                for (int i = 2; i <= columnCount + 1; i++) {
+                    String value = rs.getString(i);
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                rows.put(id, values);
+                return id;
+            } catch (SQLException e) {
+                throw new DatabaseAccessException("Помилка читання тексту для індексу " + tableName, e);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Підключення пошуку підрядка до колонок. Якщо триграмний індекс вимкнено (null),
+     * пошук виконується запитом ILIKE; інакше індекс заповнюється при першому пошуку
+     * і підтримується так само, як повнотекстовий ({@link #indexText}).
+     *
+     * @param index   триграмний індекс або null
+     * @param columns колонки, значення яких індексуються
+     */
+    protected final void indexTrigrams(TrigramIndex<ID> index, String... columns) {
+        List<String> columnNames = new ArrayList<>(columns.length);
+        StringJoiner condition = new StringJoiner(" OR ", "(", ")");
+        for (String column : columns) {
+            String columnName = sortColumn(column).columnName();
+            columnNames.add(columnName);
+            condition.add(columnName + " ILIKE ? ESCAPE '\\'");
+        }
+        String select = String.format("SELECT id, %s FROM %s", String.join(", ", columnNames), tableName);
+        this.trigramColumns = new TrigramColumns<>(index, select, columnNames.size(), condition.toString());
+    }
+
+    /**
+     * Пошук сутностей, хоча б одна з колонок {@link #indexTrigrams} яких містить підрядок
+     * без урахування регістру. Усередині транзакції та з вимкненим індексом виконується
+     * запит ILIKE, бо індекс відображає лише закомічений стан таблиці. Символи {@code %}
+     * і {@code _} у підрядку шукаються буквально, як і в індексі.
+     *
+     * @param fragment підрядок
+     * @return знайдені сутності
+     */
+    protected List<T> findContaining(String fragment) {
+        TrigramIndex<ID> index = trigramIndex();
+        if (index == null || UnitOfWork.boundConnection() != null) {
+            String condition = trigramColumns.condition();
+            int columnCount = trigramColumns.columnCount();
+            String pattern = "%" + escapeLike(fragment) + "%";
+            return findAll(
+                    (whereClause, params) -> {
+                        whereClause.add(condition);
+                        for (int i = 0; i < columnCount; i++) {
+                            params.add(pattern);
+                        }
+                    },
+                    null, true, 0, Integer.MAX_VALUE
+            );
+        }
+        warmTrigrams(index);
+        return new ArrayList<>(findAllByIds(index.containing(fragment)).values());
+    }
+
+    /**
+     * Нечіткий пошук за триграмною схожістю з колонками {@link #indexTrigrams}, стійкий
+     * до опечаток. Індекс відображає закомічений стан таблиці.
+     *
+     * @param value     шукане значення
+     * @param threshold мінімальна схожість у межах (0, 1]
+     * @return знайдені сутності від найсхожішої
+     * @throws IllegalStateException якщо триграмний індекс для таблиці вимкнено
+     */
+    protected List<T> findSimilar(String value, double threshold) {
+        TrigramIndex<ID> index = trigramIndex();
+        if (index == null) {
+            throw new IllegalStateException("Для таблиці " + tableName + " не ввімкнено триграмний індекс");
+        }
+        warmTrigrams(index);
+        List<ID> ids = new ArrayList<>();
+        for (TrigramIndex.Hit<ID> hit : index.similar(value, threshold)) {
+            ids.add(hit.id());
+        }
+        return new ArrayList<>(findAllByIds(ids).values());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private TrigramIndex<ID> trigramIndex() {
+        if (trigramColumns == null) {
+            throw new IllegalStateException("Для таблиці " + tableName + " не підключено пошук підрядка");
+        }
+        return trigramColumns.index();
+    }
+
+    private void warmTrigrams(TrigramIndex<ID> index) {
+        if (index.isWarm()) {
+            return;
+        }
+        synchronized (index) {
+            if (!index.isWarm()) {
+                index.startWarming();
+                Set<ID> changed = index.warm(readColumns(trigramColumns.select(), trigramColumns.columnCount(),
+                        stmt -> {
+                        }));
+                if (!changed.isEmpty()) {
+                    reindexTrigrams(changed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Переіндексація змінених рядків у триграмному індексі, як у {@link #reindexText},
+     * під монітором індексу.
+     *
+     * @param ids ідентифікатори змінених рядків
+     */
+    private void reindexTrigrams(Collection<?> ids) {
+        TrigramIndex<ID> index = trigramColumns.index();
+        Object[] chunk = ids.toArray();
+        synchronized (index) {
+            Map<ID, List<String>> rows = readColumns(trigramColumns.select() + " WHERE id = ANY(?)",
+                    trigramColumns.columnCount(), stmt -> stmt.setObject(1, chunk));
+            for (Object id : ids) {
+                @SuppressWarnings("unchecked")
+                ID typedId = (ID) id;
+                List<String> values = rows.get(typedId);
+                if (values != null) {
+                    index.put(typedId, values);
+                } else {
+                    index.remove(typedId);
+                }
+            }
+        }
+    }
+
     /**
      * Підрахунок усіх сутностей.
      *
@@ -183,8 +919,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public long count() {
-        String sql = String.format("SELECT COUNT(*) FROM %s", tableName);
-        try (Connection connection = connectionPool.getConnection();
+        String sql = sqlCache.get("count", () -> String.format("SELECT COUNT(*) FROM %s", tableName));
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
             return resultSet.next() ? resultSet.getLong(1) : 0;
@@ -206,9 +942,10 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         StringJoiner selectClause = new StringJoiner(", ", "SELECT ", "");
         StringJoiner groupByClause = new StringJoiner(", ", " GROUP BY ", "");
         aggregation.apply(selectClause, groupByClause);
-        String sql = String.format("%s FROM %s%s", selectClause, tableName, groupByClause);
+        String sql = sqlCache.get("groupBy|" + selectClause + "|" + groupByClause,
+                () -> String.format("%s FROM %s%s", selectClause, tableName, groupByClause));
 
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
             List<R> results = new ArrayList<>();
@@ -230,8 +967,9 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
     @Override
     public T save(T entity) {
         String sql = buildInsertSql(entity);
-        List<Object> values = extractEntityValues(entity);
-        executeUpdate(sql, values);
+        indexWritten(List.of(entity));
+        executeUpdate(sql, statement -> bindInsert(statement, entity));
+        invalidateCached(List.of(extractId(entity)));
         return entity;
     }
 
@@ -248,23 +986,29 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
 
         String sql = buildInsertSql(entities.getFirst());
-        try (Connection connection = connectionPool.getConnection();
+        indexWritten(entities);
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             for (T entity : entities) {
-                List<Object> values = extractEntityValues(entity);
-                setParameters(statement, values);
+                bindInsert(statement, entity);
                 statement.addBatch();
             }
             statement.executeBatch();
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка пакетного збереження сутностей", e);
         }
-
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            ids.add(extractId(entity));
+        }
+        invalidateCached(ids);
         return entities;
     }
 
     /**
      * Оновлення сутності.
+     * Якщо рядок відстежується областю {@link PersistenceContext#openScope()}, записуються
+     * лише колонки, змінені відносно знімка; без змін запит не виконується взагалі.
      *
      * @param id     ідентифікатор сутності
      * @param entity сутність з новими даними
@@ -272,15 +1016,30 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public T update(ID id, T entity) {
-        String sql = buildUpdateSql();
-        List<Object> values = extractEntityValues(entity, false);
-        values.add(id); // Add id for WHERE clause
-        executeUpdate(sql, values);
+        indexWritten(List.of(entity));
+        UnitOfWork unitOfWork = UnitOfWork.currentScoped();
+        Object[] snapshot = unitOfWork == null ? null : unitOfWork.snapshotOf(entityClass, id);
+        if (snapshot == null) {
+            String sql = buildUpdateSql();
+            executeUpdate(sql, statement -> bindUpdate(statement, entity, id));
+            invalidateCached(List.of(id));
+            return entity;
+        }
+
+        Object[] current = metadata.snapshot(entity);
+        long dirtyMask = metadata.dirtyMask(snapshot, current);
+        if (dirtyMask != 0) {
+            executeUpdate(buildUpdateSql(dirtyMask), statement -> bindUpdate(statement, current, dirtyMask, id));
+            unitOfWork.refreshSnapshot(entityClass, id, current);
+            invalidateCached(List.of(id));
+        }
         return entity;
     }
 
     /**
      * Оновлення кількох сутностей у пакетному режимі.
+     * Відстежувані рядки групуються за набором змінених колонок, і кожна група виконується
+     * окремим пакетом; рядки без змін пропускаються.
      *
      * @param entities мапа ідентифікаторів та відповідних сутностей
      * @return мапа оновлених сутностей
@@ -290,21 +1049,52 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         if (entities.isEmpty()) {
             return entities;
         }
+        indexWritten(entities.values());
 
-        String sql = buildUpdateSql();
-        try (Connection connection = connectionPool.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            for (Map.Entry<ID, T> entry : entities.entrySet()) {
-                List<Object> values = extractEntityValues(entry.getValue());
-                values.add(entry.getKey());
-                setParameters(statement, values);
-                statement.addBatch();
+        UnitOfWork unitOfWork = UnitOfWork.currentScoped();
+        Map<Long, Map<ID, Object[]>> batches = new LinkedHashMap<>();
+        for (Map.Entry<ID, T> entry : entities.entrySet()) {
+            Object[] snapshot = unitOfWork == null ? null : unitOfWork.snapshotOf(entityClass, entry.getKey());
+            Object[] current = snapshot == null ? null : metadata.snapshot(entry.getValue());
+            long dirtyMask = snapshot == null ? EntityMetadata.ALL_COLUMNS : metadata.dirtyMask(snapshot, current);
+            if (dirtyMask != 0) {
+                batches.computeIfAbsent(dirtyMask, mask -> new LinkedHashMap<>()).put(entry.getKey(), current);
+            }
+        }
+        if (batches.isEmpty()) {
+            return entities;
+        }
+
+        try (Connection connection = getConnection()) {
+            for (Map.Entry<Long, Map<ID, Object[]>> batch : batches.entrySet()) {
+                long dirtyMask = batch.getKey();
+                String sql = dirtyMask == EntityMetadata.ALL_COLUMNS ? buildUpdateSql() : buildUpdateSql(dirtyMask);
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (Map.Entry<ID, Object[]> row : batch.getValue().entrySet()) {
+                        if (row.getValue() == null) {
+                            bindUpdate(statement, entities.get(row.getKey()), row.getKey());
+                        } else {
+                            bindUpdate(statement, row.getValue(), dirtyMask, row.getKey());
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
             }
-            statement.executeBatch();
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка пакетного оновлення сутностей", e);
         }
+        invalidateCached(entities.keySet());
 
+        if (unitOfWork != null) {
+            for (Map<ID, Object[]> batch : batches.values()) {
+                batch.forEach((id, current) -> {
+                    if (current != null) {
+                        unitOfWork.refreshSnapshot(entityClass, id, current);
+                    }
+                });
+            }
+        }
         return entities;
     }
 
@@ -315,8 +1105,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      */
     @Override
     public void delete(ID id) {
-        String sql = String.format("DELETE FROM %s WHERE id = ?", tableName);
-        executeUpdate(sql, List.of(id));
+        executeUpdate(deleteSql(), List.of(id));
+        evict(List.of(id));
     }
 
     /**
@@ -330,9 +1120,8 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
             return;
         }
 
-        String sql = String.format("DELETE FROM %s WHERE id = ?", tableName);
-        try (Connection connection = connectionPool.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(deleteSql())) {
             for (ID id : ids) {
                 statement.setObject(1, id);
                 statement.addBatch();
@@ -341,6 +1130,123 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка пакетного видалення сутностей", e);
         }
+        evict(ids);
+    }
+
+    /**
+     * Вилучення видалених сутностей з мапи ідентичності поточної області.
+     *
+     * @param ids ідентифікатори видалених сутностей
+     */
+    private void evict(List<ID> ids) {
+        UnitOfWork unitOfWork = UnitOfWork.currentScoped();
+        if (unitOfWork != null) {
+            for (ID id : ids) {
+                unitOfWork.evict(entityClass, id);
+            }
+        }
+        invalidateCached(ids);
+    }
+
+    /**
+     * Вилучення рядків з кешу сутностей і позначка зміни таблиці для кешу запитів;
+     * викликається після запису та після завершення транзакції {@link PersistenceContext#commit()},
+     * щоб кеші не зберегли значення, прочитане паралельно з транзакцією.
+     *
+     * @param ids ідентифікатори змінених рядків
+     */
+    void invalidateCached(Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (entityCache != null) {
+            entityCache.invalidateAll(ids);
+        }
+        // Старі значення могли зникнути; підтвердження, прочитані до цього, відкидаються за маркером.
+        for (IndexedColumn indexed : indexedColumns) {
+            indexed.index().clearConfirmed();
+        }
+        tableChanged(tableName);
+        // Усередині транзакції текст перечитається після commit(), коли зміни вже видно.
+        if (textColumns != null && UnitOfWork.boundConnection() == null && textColumns.index().markChanged(castIds(ids))) {
+            reindexText(ids);
+        }
+        if (trigramColumns != null && trigramColumns.index() != null && UnitOfWork.boundConnection() == null
+                && trigramColumns.index().markChanged(castIds(ids))) {
+            reindexTrigrams(ids);
+        }
+    }
+
+    /**
+     * Позначка зміни таблиці: збережені результати запитів, що її читають, стають застарілими.
+     * Репозиторії викликають цей метод після власних SQL-записів в обхід save/update/delete,
+     * зокрема у таблиці зв'язків.
+     *
+     * @param changedTable назва зміненої таблиці
+     */
+    protected void tableChanged(String changedTable) {
+        queryCache.tableVersions().bump(changedTable);
+    }
+
+    /**
+     * Виконання запиту з кешуванням списку результатів. Кешування вмикається окремо для
+     * кожного методу репозиторію; всередині транзакції чи області
+     * {@link PersistenceContext#openScope()} запит виконується напряму, бо має бачити
+     * незакомічені зміни і повертати екземпляри з мапи ідентичності.
+     *
+     * @param sql             SQL-запит
+     * @param parameters      параметри запиту (скалярні значення)
+     * @param tableNames      таблиці, які читає запит
+     * @param target          метадані типу рядка; через них копіюються збережені сутності
+     * @return список сутностей
+     */
+    protected <R> List<R> cachedQuery(String sql, List<Object> parameters, List<String> tableNames,
+                                      EntityMetadata<R> target) {
+        Supplier<List<R>> loader = () -> executeQuery(sql, statement -> setParameters(statement, parameters), target);
+        if (!queryCacheReadable()) {
+            return loader.get();
+        }
+        return queryCache.get(sql, parameters, tableNames, loader,
+                rows -> new ArrayList<>(rows.stream().map(target::copy).toList()));
+    }
+
+    /**
+     * Виконання запиту кількості з кешуванням результату; правила ті самі, що для
+     * {@link #cachedQuery(String, List, List, EntityMetadata)}.
+     *
+     * @param sql        SQL-запит, що повертає одне число
+     * @param parameters параметри запиту (скалярні значення)
+     * @param tableNames таблиці, які читає запит
+     * @return результат запиту
+     */
+    protected long cachedCount(String sql, List<Object> parameters, List<String> tableNames) {
+        Supplier<Long> loader = () -> {
+            try (Connection connection = getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                setParameters(statement, parameters);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            } catch (SQLException e) {
+                throw new DatabaseAccessException("Помилка підрахунку записів", e);
+            }
+        };
+        if (!queryCacheReadable()) {
+            return loader.get();
+        }
+        return queryCache.get(sql, parameters, tableNames, loader, count -> count);
+    }
+
+    private static boolean queryCacheReadable() {
+        return UnitOfWork.boundConnection() == null && UnitOfWork.currentScoped() == null;
+    }
+
+    /**
+     * Кеш для читання: всередині транзакції репозиторій бачить незакомічені зміни,
+     * тому кеш не використовується.
+     */
+    private EntityCache<ID, T> readableCache() {
+        return UnitOfWork.boundConnection() == null ? entityCache : null;
     }
 
     /**
@@ -351,13 +1257,36 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return список сутностей
      */
     protected List<T> executeQuery(String sql, ParameterSetter parameterSetter) {
-        try (Connection connection = connectionPool.getConnection();
+        return executeQuery(sql, parameterSetter, metadata);
+    }
+
+    /**
+     * Виконує SQL-запит і зіставляє рядки з сутністю іншого типу (наприклад, у JOIN-запитах).
+     * Колонки читаються за порядковими номерами згідно з планом, закешованим для цього SQL.
+     * Всередині області {@link PersistenceContext#openScope()} рядки, що вже завантажені,
+     * повертаються тими самими екземплярами з мапи ідентичності.
+     *
+     * @param sql             SQL-запит
+     * @param parameterSetter функція для встановлення параметрів
+     * @param target          метадані сутності результату
+     * @param <R>             тип сутності результату
+     * @return список сутностей
+     */
+    protected <R> List<R> executeQuery(String sql, ParameterSetter parameterSetter, EntityMetadata<R> target) {
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             parameterSetter.setParameters(statement);
             try (ResultSet resultSet = statement.executeQuery()) {
-                List<T> entities = new ArrayList<>();
-                while (resultSet.next()) {
-                    entities.add(mapResultSetToEntity(resultSet));
+                List<R> entities = new ArrayList<>();
+                UnitOfWork unitOfWork = target.idColumn() != null ? UnitOfWork.currentScoped() : null;
+                if (resultSet.next()) {
+                    RowLayout<R> layout = target.layoutFor(sql, resultSet);
+                    do {
+                        R entity = layout.map(resultSet);
+                        entities.add(unitOfWork == null
+                                ? entity
+                                : unitOfWork.identify(target.entityClass(), target.getId(entity), entity));
+                    } while (resultSet.next());
                 }
                 return entities;
             }
@@ -376,7 +1305,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return список об'єктів
      */
     protected <R> List<R> executeQuery(String sql, ParameterSetter parameterSetter, RowMapper<R> mapper) {
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             parameterSetter.setParameters(statement);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -391,6 +1320,21 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Виконує SQL-запит ліниво: з'єднання та запит відкриваються при читанні першого
+     * елемента, а закриваються, щойно рядки вичерпано, сталася помилка або потік закрито.
+     *
+     * @param sql             SQL-запит
+     * @param parameterSetter функція для встановлення параметрів
+     * @param target          метадані сутності результату
+     * @param <R>             тип сутності результату
+     * @return потік сутностей, який слід закрити
+     */
+    protected <R> Stream<R> stream(String sql, ParameterSetter parameterSetter, EntityMetadata<R> target) {
+        RowCursor<R> cursor = new RowCursor<>(sql, parameterSetter, target);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
     /**
      * Виконує SQL-запит для оновлення або вставки.
      *
@@ -398,7 +1342,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @param parameters параметри запиту
      */
     protected void executeUpdate(String sql, List<Object> parameters) {
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             setParameters(statement, parameters);
             statement.executeUpdate();
@@ -407,6 +1351,86 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Виконує SQL-запит для оновлення або вставки з довільним встановленням параметрів.
+     *
+     * @param sql             SQL-запит
+     * @param parameterSetter функція для встановлення параметрів
+     */
+    protected void executeUpdate(String sql, ParameterSetter parameterSetter) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            parameterSetter.setParameters(statement);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка виконання оновлення: " + sql, e);
+        }
+    }
+
+    /**
+     * З'єднання для запиту: з'єднання транзакції, якщо потік зараз виконує
+     * {@link PersistenceContext#commit()}, інакше нове з'єднання з пулу.
+     * В обох випадках його слід закривати через try-with-resources.
+     *
+     * @return з'єднання з базою даних
+     */
+    protected Connection getConnection() {
+        Connection connection = UnitOfWork.boundConnection();
+        return connection != null ? connection : connectionPool.getConnection();
+    }
+
+    /**
+     * Встановлює параметри INSERT для сутності: через згенерований {@link EntityParameterBinder},
+     * якщо він є, інакше через значення з метаданих.
+     *
+     * @param statement підготовлений запит
+     * @param entity    сутність
+     * @throws SQLException якщо виникає помилка при встановленні параметрів
+     */
+    protected void bindInsert(PreparedStatement statement, T entity) throws SQLException {
+        EntityParameterBinder<T> binder = metadata.parameterBinder();
+        if (binder != null) {
+            binder.bindInsert(statement, entity);
+        } else {
+            setParameters(statement, extractEntityValues(entity));
+        }
+    }
+
+    /**
+     * Встановлює параметри UPDATE для сутності: колонки без id, потім id для умови WHERE.
+     *
+     * @param statement підготовлений запит
+     * @param entity    сутність з новими даними
+     * @param id        ідентифікатор сутності
+     * @throws SQLException якщо виникає помилка при встановленні параметрів
+     */
+    protected void bindUpdate(PreparedStatement statement, T entity, ID id) throws SQLException {
+        EntityParameterBinder<T> binder = metadata.parameterBinder();
+        if (binder != null) {
+            binder.bindUpdate(statement, entity, id);
+        } else {
+            List<Object> values = extractEntityValues(entity, false);
+            values.add(id);
+            setParameters(statement, values);
+        }
+    }
+
+    /**
+     * Встановлює параметри часткового UPDATE: значення змінених колонок, потім id.
+     *
+     * @param statement   підготовлений запит
+     * @param current     знімок поточних значень колонок
+     * @param columnsMask маска змінених колонок
+     * @param id          ідентифікатор сутності
+     * @throws SQLException якщо виникає помилка при встановленні параметрів
+     */
+    private void bindUpdate(PreparedStatement statement, Object[] current, long columnsMask, ID id)
+            throws SQLException {
+        List<Object> values = metadata.maskedValues(current, columnsMask);
+        values.add(id);
+        setParameters(statement, values);
+    }
+
     /**
      * Встановлює параметри для PreparedStatement.
      *
@@ -420,6 +1444,50 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
         }
     }
 
+    /**
+     * Формує умову WHERE за фільтром і заповнює список параметрів.
+     *
+     * @param filter     фільтр (може бути null)
+     * @param parameters список, до якого додаються параметри фільтра
+     * @return умова WHERE із пробілом на початку або порожній рядок
+     */
+    protected String applyFilter(Filter filter, List<Object> parameters) {
+        if (filter == null) {
+            return "";
+        }
+        StringJoiner whereClause = new StringJoiner(" AND ", " WHERE ", "");
+        filter.apply(whereClause, parameters);
+        return whereClause.toString();
+    }
+
+    /**
+     * Отримання SQL-шаблону з кешу репозиторію.
+     *
+     * @param key     ключ: операція та форма запиту
+     * @param builder побудова SQL при промаху
+     * @return SQL-рядок
+     */
+    protected String cachedSql(String key, Supplier<String> builder) {
+        return sqlCache.get(key, builder);
+    }
+
+    /**
+     * Статистика кешу SQL-шаблонів цього репозиторію.
+     *
+     * @return кількість влучань, промахів і розмір кешу
+     */
+    public SqlTemplateCache.Stats sqlCacheStats() {
+        return sqlCache.stats();
+    }
+
+    private String selectAllSql() {
+        return sqlCache.get("selectAll", () -> String.format("SELECT * FROM %s", tableName));
+    }
+
+    private String deleteSql() {
+        return sqlCache.get("delete", () -> String.format("DELETE FROM %s WHERE id = ?", tableName));
+    }
+
     /**
      * Будує SQL-запит для вставки сутності.
      *
@@ -427,13 +1495,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return SQL-запит для вставки
      */
     protected String buildInsertSql(T entity) {
-        StringJoiner columns = new StringJoiner(", ");
-        StringJoiner placeholders = new StringJoiner(", ");
-        for (Field field : entityClass.getDeclaredFields()) {
-            columns.add(camelCaseToSnakeCase(field.getName()));
-            placeholders.add("?");
-        }
-        return String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columns, placeholders);
+        return insertSql;
     }
 
     /**
@@ -442,12 +1504,18 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return SQL-запит для оновлення
      */
     protected String buildUpdateSql() {
-        StringJoiner setClause = new StringJoiner(", ");
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (field.getName().equals("id")) continue;
-            setClause.add(camelCaseToSnakeCase(field.getName()) + " = ?");
-        }
-        return String.format("UPDATE %s SET %s WHERE id = ?", tableName, setClause);
+        return updateSql;
+    }
+
+    /**
+     * SQL-запит для оновлення лише змінених колонок; варіант для кожної маски кешується.
+     *
+     * @param columnsMask маска змінених колонок
+     * @return SQL-запит для оновлення
+     */
+    private String buildUpdateSql(long columnsMask) {
+        return sqlCache.get("update|" + Long.toHexString(columnsMask),
+                () -> metadata.buildUpdateSql(tableName, columnsMask));
     }
 
     /**
@@ -458,29 +1526,7 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return список значень полів
      */
     protected List<Object> extractEntityValues(T entity, boolean includeId) {
-        List<Object> values = new ArrayList<>();
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (!includeId && field.getName().equals("id")) {
-                continue; // Skip id field if includeId is false
-            }
-            field.setAccessible(true);
-            try {
-                Object value = field.get(entity);
-                if (value != null) {
-                    if (field.getType().isEnum()) {
-                        // Конвертуємо енам у рядок
-                        value = ((Enum<?>) value).name();
-                    } else if (field.getType() == LocalDateTime.class) {
-                        // Конвертуємо LocalDateTime у Timestamp
-                        value = Timestamp.valueOf((LocalDateTime) value);
-                    }
-                }
-                values.add(value);
-            } catch (IllegalAccessException e) {
-                throw new EntityMappingException("Помилка доступу до поля: " + field.getName(), e);
-            }
-        }
-        return values;
+        return metadata.extractValues(entity, includeId);
     }
 
     /**
@@ -494,27 +1540,15 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
     }
 
     /**
-     * Зіставлення ResultSet із сутністю.
+     * Зіставлення ResultSet із сутністю без кешування плану зіставлення.
+     * Для запитів, що виконуються повторно, використовуйте {@link #executeQuery(String, ParameterSetter)}.
      *
      * @param rs результат запиту
      * @return зіставлена сутність
      * @throws SQLException якщо виникає помилка при роботі з ResultSet
      */
     protected T mapResultSetToEntity(ResultSet rs) throws SQLException {
-        try {
-            T entity = entityClass.getDeclaredConstructor().newInstance();
-            for (Field field : entityClass.getDeclaredFields()) {
-                field.setAccessible(true);
-                String columnName = camelCaseToSnakeCase(field.getName());
-                Object value = rs.getObject(columnName);
-                if (value != null) {
-                    field.set(entity, convertValue(value, field.getType()));
-                }
-            }
-            return entity;
-        } catch (Exception e) {
-            throw new EntityMappingException("Помилка зіставлення ResultSet із сутністю", e);
-        }
+        return metadata.layoutFor(rs).map(rs);
     }
 
     /**
@@ -525,19 +1559,10 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
      * @return сконвертоване значення
      */
     protected Object convertValue(Object value, Class<?> targetType) {
-        if (value == null && !targetType.isPrimitive()) {
+        if (value == null) {
             return null;
         }
-        return switch (targetType.getName()) {
-            case "java.lang.String" -> value.toString();
-            case "java.util.UUID" -> value instanceof String ? UUID.fromString((String) value) : value;
-            case "java.lang.Integer", "int" ->
-                    value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
-            case "java.time.LocalDateTime" -> value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : null;
-            case "com.arakviel.domain.enums.FileFormat" ->
-                    value instanceof String ? FileFormat.valueOf((String) value) : value;
-            default -> value;
-        };
+        return ValueConverter.forType(targetType).fromDatabase(value);
     }
 
     /**
@@ -577,18 +1602,117 @@ public abstract class GenericRepository<T, ID> implements Repository<T, ID> {
     }
 
     /**
-     * Витягнення ідентифікатора з сутності через рефлексію.
+     * Витягнення ідентифікатора з сутності через її метадані.
      *
      * @param entity сутність
      * @return ідентифікатор
      */
     public Object extractId(Object entity) {
-        try {
-            var idField = entity.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return idField.get(entity);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new IllegalStateException("Не вдалося отримати ідентифікатор для " + entity.getClass().getSimpleName(), e);
+        EntityMetadata<?> entityMetadata = entity.getClass() == entityClass
+                ? metadata
+                : EntityMetadata.of(entity.getClass());
+        return entityMetadata.getId(entity);
+    }
+
+    /**
+     * Колонка з підключеним індексом існування.
+     */
+    private record IndexedColumn(ColumnMetadata column, ExistenceIndex index) {
+    }
+
+    /**
+     * Повнотекстовий індекс із запитом, що читає ідентифікатор і текстові колонки.
+     */
+    private record TextColumns<ID>(InvertedIndex<ID> index, String select, int columnCount) {
+    }
+
+    /**
+     * Триграмний індекс (null, якщо вимкнено) із запитом для його заповнення та умовою ILIKE.
+     */
+    private record TrigramColumns<ID>(TrigramIndex<ID> index, String select, int columnCount, String condition) {
+    }
+
+    /**
+     * Курсор по результату запиту, що читає рядки по одному.
+     */
+    private final class RowCursor<R> extends Spliterators.AbstractSpliterator<R> {
+
+        private final String sql;
+        private final ParameterSetter parameterSetter;
+        private final EntityMetadata<R> target;
+        private Connection connection;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private RowLayout<R> layout;
+        private boolean closed;
+
+        private RowCursor(String sql, ParameterSetter parameterSetter, EntityMetadata<R> target) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.sql = sql;
+            this.parameterSetter = parameterSetter;
+            this.target = target;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (closed) {
+                return false;
+            }
+            R entity;
+            try {
+                if (resultSet == null) {
+                    open();
+                }
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                if (layout == null) {
+                    layout = target.layoutFor(sql, resultSet);
+                }
+                entity = layout.map(resultSet);
+            } catch (SQLException e) {
+                closeAfterFailure(e);
+                throw new DatabaseAccessException("Помилка виконання запиту: " + sql, e);
+            } catch (RuntimeException e) {
+                // Помилки встановлення параметрів і відображення рядка теж звільняють з'єднання.
+                closeAfterFailure(e);
+                throw e;
+            }
+            action.accept(entity);
+            return true;
+        }
+
+        private void open() throws SQLException {
+            connection = getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(streamFetchSize);
+            parameterSetter.setParameters(statement);
+            resultSet = statement.executeQuery();
+        }
+
+        private void closeAfterFailure(Exception cause) {
+            try {
+                close();
+            } catch (RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (Connection c = connection; PreparedStatement s = statement; ResultSet r = resultSet) {
+                // Ресурси закриваються у зворотному порядку; відсутні (null) пропускаються.
+            } catch (SQLException e) {
+                throw new DatabaseAccessException("Помилка закриття курсора: " + sql, e);
+            } finally {
+                resultSet = null;
+                statement = null;
+                connection = null;
+            }
         }
     }
 
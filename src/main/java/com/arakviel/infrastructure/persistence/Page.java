@@ -0,0 +1,24 @@
+package com.arakviel.infrastructure.persistence;
+
+import java.util.List;
+
+/**
+ * Сторінка результатів вибірки за ключем.
+ *
+ * @param items елементи сторінки
+ * @param next  курсор наступної сторінки або null, якщо це остання сторінка
+ * @param <T>   тип елементів
+ */
+public record Page<T>(List<T> items, Cursor next) {
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Чи є наступна сторінка.
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
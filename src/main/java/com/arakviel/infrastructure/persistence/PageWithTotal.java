@@ -0,0 +1,31 @@
+package com.arakviel.infrastructure.persistence;
+
+import java.util.List;
+
+/**
+ * Сторінка вибірки за зміщенням разом із загальною кількістю рядків.
+ *
+ * @param items      елементи сторінки
+ * @param total      кількість рядків, що відповідають фільтру, або -1, якщо її не підраховано
+ * @param totalExact чи є total точним значенням, а не оцінкою
+ * @param hasMore    чи є рядки після цієї сторінки
+ * @param <T>        тип елементів
+ */
+public record PageWithTotal<T>(List<T> items, long total, boolean totalExact, boolean hasMore) {
+
+    /**
+     * Позначка відсутньої кількості.
+     */
+    public static final long UNKNOWN_TOTAL = -1L;
+
+    public PageWithTotal {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Чи підраховано загальну кількість (точно або приблизно).
+     */
+    public boolean hasTotal() {
+        return total != UNKNOWN_TOTAL;
+    }
+}
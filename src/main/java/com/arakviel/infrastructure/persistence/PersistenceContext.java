@@ -10,17 +10,35 @@ import org.springframework.stereotype.Component;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Реалізація патерну Unit of Work для управління транзакціями та змінами сутностей.
  * Відстежує створені, оновлені та видалені сутності, застосовуючи зміни в одній транзакції.
+ * Зареєстровані зміни належать потоку, який їх зареєстрував, тож один екземпляр контексту
+ * можуть одночасно використовувати сервіси з різних потоків.
  */
 @Component
 public class PersistenceContext {
 
+    /**
+     * Порядок застосування змін за залежностями зовнішніх ключів: батьківські таблиці раніше
+     * за дочірні. Вставки й оновлення йдуть у прямому порядку, видалення — у зворотному.
+     * Сутності незазначених типів обробляються останніми.
+     */
+    private static final List<Class<?>> FLUSH_ORDER = List.of(
+            Author.class,
+            Genre.class,
+            User.class,
+            Audiobook.class,
+            AudiobookFile.class,
+            Collection.class,
+            ListeningProgress.class);
+
     private final ConnectionPool connectionPool;
     private final AudiobookRepository audiobookRepository;
     private final AudiobookFileRepository audiobookFileRepository;
@@ -29,11 +47,7 @@ public class PersistenceContext {
     private final CollectionRepository collectionRepository;
     private final ListeningProgressRepository listeningProgressRepository;
     private final UserRepository userRepository;
-    private Connection connection;
     private final Map<Class<?>, Repository<?, ?>> repositories;
-    private final List<Object> newEntities;
-    private final Map<Object, Object> updatedEntities; // Map<Id, Entity>
-    private final List<Object> deletedEntities;
 
     /**
      * Конструктор для створення контексту з пулом з'єднань.
@@ -57,11 +71,7 @@ public class PersistenceContext {
         this.listeningProgressRepository = listeningProgressRepository;
         this.userRepository = userRepository;
 
-        this.repositories = new HashMap<>();
-        this.newEntities = new ArrayList<>();
-        this.updatedEntities = new HashMap<>();
-        this.deletedEntities = new ArrayList<>();
-        initializeConnection();
+        this.repositories = new ConcurrentHashMap<>();
     }
 
     @PostConstruct
@@ -94,7 +104,7 @@ public class PersistenceContext {
         if (entity == null) {
             throw new IllegalArgumentException("Сутність не може бути null");
         }
-        newEntities.add(entity);
+        UnitOfWork.current().newEntities.add(entity);
     }
 
     /**
@@ -107,7 +117,7 @@ public class PersistenceContext {
         if (id == null || entity == null) {
             throw new IllegalArgumentException("Ідентифікатор або сутність не можуть бути null");
         }
-        updatedEntities.put(id, entity);
+        UnitOfWork.current().updatedEntities.put(id, entity);
     }
 
     /**
@@ -119,74 +129,196 @@ public class PersistenceContext {
         if (entity == null) {
             throw new IllegalArgumentException("Сутність не може бути null");
         }
-        deletedEntities.add(entity);
+        UnitOfWork.current().deletedEntities.add(entity);
     }
 
     /**
-     * Застосування всіх зареєстрованих змін у транзакції.
+     * Відкриття області одиниці роботи для поточного потоку. Поки область відкрита,
+     * findById будь-якого зареєстрованого репозиторію повертає вже завантажений екземпляр
+     * без SQL-запиту, а однакові рядки з різних запитів представлені одним об'єктом.
+     * Області можуть вкладатися; стан звільняється при закритті зовнішньої, а незакомічені
+     * зміни при цьому відкидаються. Область слід закривати в тому ж потоці через
+     * try-with-resources.
+     *
+     * @return відкрита область
      */
-    public void commit() {
-        try {
-            // Збереження нових сутностей
-            for (Object entity : newEntities) {
-                Repository<Object, Object> repository = getRepository(entity.getClass());
-                System.out.println("Saving entity: " + entity); // Логування
-                repository.save(entity);
-            }
-
-            // Оновлення сутностей
-            for (Map.Entry<Object, Object> entry : updatedEntities.entrySet()) {
-                Repository<Object, Object> repository = getRepository(entry.getValue().getClass());
-                repository.update(entry.getKey(), entry.getValue());
-            }
+    public Scope openScope() {
+        UnitOfWork.current().enterScope();
+        return new Scope();
+    }
 
-            // Видалення сутностей
-            for (Object entity : deletedEntities) {
-                Repository<Object, Object> repository = getRepository(entity.getClass());
-                Object id = repository.extractId(entity);
-                repository.delete(id);
-            }
+    /**
+     * Застосування всіх зареєстрованих у поточному потоці змін в одній транзакції.
+     * На час виконання репозиторії працюють через з'єднання транзакції; при будь-якій
+     * помилці зміни відкочуються. Після виклику зареєстровані зміни очищаються.
+     * Всередині області збережені та оновлені сутності потрапляють у мапу ідентичності,
+     * а після невдалої транзакції мапа очищається. Відстежувані сутності, змінені після
+     * завантаження, оновлюються автоматично, причому записуються лише змінені колонки.
+     */
+    public void commit() {
+        UnitOfWork unitOfWork = UnitOfWork.currentOrNull();
+        if (unitOfWork != null && unitOfWork.isScoped()) {
+            unitOfWork.registerDirty();
+        }
+        if (unitOfWork == null || unitOfWork.isEmpty()) {
+            finish(unitOfWork);
+            return;
+        }
 
-            // Коміт транзакції
-            connection.commit();
-        } catch (SQLException e) {
+        boolean committed = false;
+        try (Connection connection = connectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+            unitOfWork.bind(connection);
             try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new DatabaseAccessException("Помилка відкатування транзакції", rollbackEx);
+                flush(unitOfWork);
+                connection.commit();
+                committed = true;
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection, e);
+                throw e instanceof SQLException
+                        ? new DatabaseAccessException("Помилка виконання транзакції", e)
+                        : (RuntimeException) e;
+            } finally {
+                unitOfWork.unbind();
             }
+        } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка виконання транзакції", e);
         } finally {
-            clear();
-            try {
-                connection.close(); // Закриваємо з'єднання для повернення в пул
-            } catch (SQLException e) {
-                throw new DatabaseAccessException("Помилка закриття з'єднання", e);
+            invalidateCaches(unitOfWork);
+            if (unitOfWork.isScoped()) {
+                if (committed) {
+                    trackCommitted(unitOfWork);
+                } else {
+                    unitOfWork.clearIdentityMap();
+                }
             }
+            finish(unitOfWork);
         }
     }
 
     /**
-     * Очищення списків змінених сутностей.
+     * Очищення зареєстрованих змін; поза областю стан потоку звільняється повністю.
+     *
+     * @param unitOfWork одиниця роботи поточного потоку (може бути null)
      */
-    private void clear() {
-        newEntities.clear();
-        updatedEntities.clear();
-        deletedEntities.clear();
+    private static void finish(UnitOfWork unitOfWork) {
+        if (unitOfWork != null && unitOfWork.isScoped()) {
+            unitOfWork.clearPending();
+        } else {
+            UnitOfWork.end();
+        }
     }
 
     /**
-     * Ініціалізація з'єднання з пулом.
+     * Вилучення з кешів сутностей усіх рядків, яких торкалася транзакція. Репозиторії
+     * вилучають їх і під час запису, але до коміту паралельний читач ще бачить старі
+     * значення і міг повернути їх у кеш.
+     *
+     * @param unitOfWork одиниця роботи поточного потоку
      */
-    private void initializeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close(); // Закриваємо старе з'єднання
+    private void invalidateCaches(UnitOfWork unitOfWork) {
+        List<Object> entities = new ArrayList<>(unitOfWork.newEntities);
+        entities.addAll(unitOfWork.updatedEntities.values());
+        entities.addAll(unitOfWork.deletedEntities);
+        Map<GenericRepository<?, ?>, List<Object>> idsByRepository = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            if (repositories.get(entity.getClass()) instanceof GenericRepository<?, ?> repository) {
+                idsByRepository.computeIfAbsent(repository, key -> new ArrayList<>()).add(repository.extractId(entity));
             }
-            this.connection = connectionPool.getConnection();
-            this.connection.setAutoCommit(false); // Вимикаємо автокоміт для транзакцій
-        } catch (SQLException e) {
-            throw new DatabaseAccessException("Помилка ініціалізації з'єднання", e);
+        }
+        idsByRepository.forEach(GenericRepository::invalidateCached);
+    }
+
+    /**
+     * Оновлення мапи ідентичності після успішної транзакції.
+     *
+     * @param unitOfWork одиниця роботи поточного потоку
+     */
+    private void trackCommitted(UnitOfWork unitOfWork) {
+        for (Object entity : unitOfWork.newEntities) {
+            Repository<Object, Object> repository = getRepository(entity.getClass());
+            unitOfWork.track(entity.getClass(), repository.extractId(entity), entity);
+        }
+        for (Map.Entry<Object, Object> entry : unitOfWork.updatedEntities.entrySet()) {
+            unitOfWork.track(entry.getValue().getClass(), entry.getKey(), entry.getValue());
+        }
+        for (Object entity : unitOfWork.deletedEntities) {
+            Repository<Object, Object> repository = getRepository(entity.getClass());
+            unitOfWork.evict(entity.getClass(), repository.extractId(entity));
+        }
+    }
+
+    /**
+     * Виконання зареєстрованих змін через репозиторії. Зміни групуються за типом сутності,
+     * і кожна група виконується одним пакетним запитом, тож кількість звернень до бази
+     * залежить від кількості таблиць, а не рядків.
+     *
+     * @param unitOfWork зміни поточного потоку
+     */
+    private void flush(UnitOfWork unitOfWork) {
+        Map<Class<?>, List<Object>> inserts = new LinkedHashMap<>();
+        for (Object entity : unitOfWork.newEntities) {
+            inserts.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(entity);
+        }
+        Map<Class<?>, Map<Object, Object>> updates = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry : unitOfWork.updatedEntities.entrySet()) {
+            updates.computeIfAbsent(entry.getValue().getClass(), type -> new LinkedHashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+        Map<Class<?>, List<Object>> deletes = new LinkedHashMap<>();
+        for (Object entity : unitOfWork.deletedEntities) {
+            deletes.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(entity);
+        }
+
+        // Збереження нових сутностей
+        for (Class<?> entityClass : inFlushOrder(inserts.keySet())) {
+            Repository<Object, Object> repository = getRepository(entityClass);
+            repository.saveAll(inserts.get(entityClass));
+        }
+
+        // Оновлення сутностей
+        for (Class<?> entityClass : inFlushOrder(updates.keySet())) {
+            Repository<Object, Object> repository = getRepository(entityClass);
+            repository.updateAll(updates.get(entityClass));
+        }
+
+        // Видалення сутностей: спершу дочірні таблиці
+        for (Class<?> entityClass : inFlushOrder(deletes.keySet()).reversed()) {
+            Repository<Object, Object> repository = getRepository(entityClass);
+            List<Object> ids = new ArrayList<>();
+            for (Object entity : deletes.get(entityClass)) {
+                ids.add(repository.extractId(entity));
+            }
+            repository.deleteAll(ids);
+        }
+    }
+
+    /**
+     * Впорядкування типів сутностей згідно з {@link #FLUSH_ORDER}.
+     *
+     * @param entityClasses типи сутностей у порядку реєстрації
+     * @return типи сутностей у порядку застосування
+     */
+    private static List<Class<?>> inFlushOrder(java.util.Collection<Class<?>> entityClasses) {
+        List<Class<?>> ordered = new ArrayList<>(entityClasses);
+        ordered.sort(Comparator.comparingInt(entityClass -> {
+            int rank = FLUSH_ORDER.indexOf(entityClass);
+            return rank >= 0 ? rank : FLUSH_ORDER.size();
+        }));
+        return ordered;
+    }
+
+    /**
+     * Відкат транзакції; помилка відкату додається до початкової як придушена.
+     *
+     * @param connection з'єднання транзакції
+     * @param cause      помилка, що спричинила відкат
+     */
+    private void rollback(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            cause.addSuppressed(new DatabaseAccessException("Помилка відкатування транзакції", rollbackEx));
         }
     }
 
@@ -204,4 +336,28 @@ public class PersistenceContext {
         }
         return repository;
     }
+
+    /**
+     * Відкрита область одиниці роботи; закриття звільняє мапу ідентичності потоку,
+     * якщо це зовнішня область.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private boolean closed;
+
+        private Scope() {
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            UnitOfWork unitOfWork = UnitOfWork.currentOrNull();
+            if (unitOfWork != null && unitOfWork.exitScope()) {
+                UnitOfWork.end();
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.arakviel.infrastructure.persistence;
 
 import java.sql.ResultSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Інтерфейс для загальних операцій з репозиторієм.
@@ -31,6 +34,49 @@ public interface Repository<T, ID> {
         void apply(StringJoiner selectClause, StringJoiner groupByClause);
     }
 
+    /**
+     * Ключ сортування для вибірки за ключем: колонка та напрямок. Рядки з однаковим
+     * значенням колонки додатково впорядковуються за id, тож порядок завжди повний.
+     * Колонка має бути NOT NULL.
+     *
+     * @param column    назва колонки
+     * @param ascending напрямок сортування (true - за зростанням)
+     */
+    record SortKey(String column, boolean ascending) {
+
+        /**
+         * Сортування за id за зростанням.
+         */
+        public static final SortKey BY_ID = new SortKey("id", true);
+
+        public static SortKey asc(String column) {
+            return new SortKey(column, true);
+        }
+
+        public static SortKey desc(String column) {
+            return new SortKey(column, false);
+        }
+    }
+
+    /**
+     * Спосіб отримання загальної кількості рядків для сторінки.
+     */
+    enum TotalMode {
+        /**
+         * Точна кількість з того ж запиту, що й сторінка ({@code COUNT(*) OVER()}).
+         */
+        EXACT,
+        /**
+         * Оцінка зі статистики таблиці без сканування рядків; для вибірки з фільтром
+         * підраховується точна кількість.
+         */
+        ESTIMATED,
+        /**
+         * Кількість не підраховується; відомо лише, чи є наступна сторінка.
+         */
+        NONE
+    }
+
     /**
      * Функціональний інтерфейс для зіставлення ResultSet у об'єкти.
      *
@@ -49,6 +95,15 @@ public interface Repository<T, ID> {
      */
     Optional<T> findById(ID id);
 
+    /**
+     * Пакетне завантаження сутностей за ідентифікаторами: замість окремого findById на
+     * кожен ідентифікатор виконується один запит на порцію ідентифікаторів.
+     *
+     * @param ids ідентифікатори (повтори та null ігноруються)
+     * @return знайдені сутності за ідентифікатором; відсутні ідентифікатори не потрапляють у мапу
+     */
+    Map<ID, T> findAllByIds(Collection<ID> ids);
+
     /**
      * Пошук сутностей за значенням поля.
      *
@@ -92,6 +147,69 @@ public interface Repository<T, ID> {
      */
     List<T> findAll(int offset, int limit);
 
+    /**
+     * Пошук з вибіркою лише колонок, що відповідають компонентам record-проєкції,
+     * замість {@code SELECT *} і повних сутностей.
+     *
+     * @param projection  клас record-проєкції
+     * @param filter      фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy      колонка сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset      зміщення для пагінації
+     * @param limit       ліміт кількості записів
+     * @param <P>         тип проєкції
+     * @return список проєкцій
+     */
+    <P extends Record> List<P> findAll(Class<P> projection, Filter filter, String sortBy, boolean isAscending,
+                                       int offset, int limit);
+
+    /**
+     * Посторінкова вибірка за ключем (keyset pagination): наступна сторінка починається
+     * одразу після рядка, на який вказує курсор, тому вартість запиту не залежить від
+     * глибини сторінки, на відміну від LIMIT/OFFSET.
+     *
+     * @param filter  фільтр для вибірки та пошуку (може бути null)
+     * @param sortKey ключ сортування (null - за id)
+     * @param after   курсор попередньої сторінки (null - перша сторінка)
+     * @param limit   розмір сторінки
+     * @return сторінка з курсором продовження
+     */
+    Page<T> findPage(Filter filter, SortKey sortKey, Cursor after, int limit);
+
+    /**
+     * Сторінка за зміщенням разом із загальною кількістю рядків за одне звернення до бази
+     * замість пари findAll + count.
+     *
+     * @param filter      фільтр для вибірки та пошуку (може бути null)
+     * @param sortBy      колонка сортування (може бути null)
+     * @param isAscending напрямок сортування (true - за зростанням)
+     * @param offset      зміщення для пагінації
+     * @param limit       розмір сторінки
+     * @param totalMode   спосіб отримання загальної кількості
+     * @return сторінка з кількістю рядків
+     */
+    PageWithTotal<T> findPageWithTotal(Filter filter, String sortBy, boolean isAscending, int offset, int limit,
+                                       TotalMode totalMode);
+
+    /**
+     * Потокова вибірка сутностей без завантаження всього результату в пам'ять.
+     * З'єднання береться при читанні першого рядка і повертається в пул, щойно потік
+     * вичерпано або закрито; потік слід закривати через try-with-resources.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @return потік сутностей
+     */
+    Stream<T> stream(Filter filter);
+
+    /**
+     * Обробка кожної сутності вибірки по одній; з'єднання гарантовано звільняється
+     * після завершення, зокрема при винятку в action.
+     *
+     * @param filter фільтр для вибірки та пошуку (може бути null)
+     * @param action дія для кожної сутності
+     */
+    void forEach(Filter filter, Consumer<? super T> action);
+
     /**
      * Пошук усіх сутностей без фільтрації, пошуку та сортування.
      *
@@ -173,7 +291,7 @@ public interface Repository<T, ID> {
     void deleteAll(List<ID> ids);
 
     /**
-     * Витягнення ідентифікатора з сутності через рефлексію.
+     * Витягнення ідентифікатора з сутності через її метадані.
      *
      * @param entity сутність
      * @return ідентифікатор
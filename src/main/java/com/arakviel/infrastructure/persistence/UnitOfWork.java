@@ -0,0 +1,236 @@
+package com.arakviel.infrastructure.persistence;
+
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Стан одиниці роботи, прив'язаний до потоку: зареєстровані зміни сутностей та з'єднання
+ * транзакції, що виконується. Поки триває commit(), репозиторії беруть з'єднання звідси,
+ * тож усі їхні запити потрапляють в одну транзакцію.
+ * <p>
+ * Всередині відкритої області ({@link PersistenceContext#openScope()}) одиниця роботи також
+ * тримає мапу ідентичності: кожен рядок таблиці представлений одним екземпляром сутності,
+ * а повторний findById повертає його без звернення до бази. Для кожного такого рядка
+ * зберігається знімок значень колонок, за яким визначаються змінені колонки при оновленні.
+ */
+final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    final List<Object> newEntities = new ArrayList<>();
+    final Map<Object, Object> updatedEntities = new LinkedHashMap<>(); // Map<Id, Entity>
+    final List<Object> deletedEntities = new ArrayList<>();
+    private final Map<Class<?>, Map<Object, Object>> identityMap = new HashMap<>();
+    private final Map<Class<?>, Map<Object, Object[]>> snapshots = new HashMap<>();
+    private Connection connection;
+    private int scopeDepth;
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Одиниця роботи поточного потоку; створюється при першому зверненні.
+     */
+    static UnitOfWork current() {
+        UnitOfWork unitOfWork = CURRENT.get();
+        if (unitOfWork == null) {
+            unitOfWork = new UnitOfWork();
+            CURRENT.set(unitOfWork);
+        }
+        return unitOfWork;
+    }
+
+    /**
+     * Одиниця роботи поточного потоку без створення нової.
+     *
+     * @return одиниця роботи або null
+     */
+    static UnitOfWork currentOrNull() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Одиниця роботи поточного потоку, якщо він перебуває у відкритій області.
+     *
+     * @return одиниця роботи з мапою ідентичності або null
+     */
+    static UnitOfWork currentScoped() {
+        UnitOfWork unitOfWork = CURRENT.get();
+        return unitOfWork != null && unitOfWork.scopeDepth > 0 ? unitOfWork : null;
+    }
+
+    /**
+     * З'єднання транзакції поточного потоку.
+     *
+     * @return з'єднання або null, якщо транзакція не виконується
+     */
+    static Connection boundConnection() {
+        UnitOfWork unitOfWork = CURRENT.get();
+        return unitOfWork == null ? null : unitOfWork.connection;
+    }
+
+    /**
+     * Завершення одиниці роботи: потік більше не тримає жодного стану.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    boolean isEmpty() {
+        return newEntities.isEmpty() && updatedEntities.isEmpty() && deletedEntities.isEmpty();
+    }
+
+    boolean isScoped() {
+        return scopeDepth > 0;
+    }
+
+    void enterScope() {
+        scopeDepth++;
+    }
+
+    /**
+     * Вихід з області.
+     *
+     * @return true, якщо закрито зовнішню область і стан потоку можна звільнити
+     */
+    boolean exitScope() {
+        return --scopeDepth <= 0;
+    }
+
+    void clearPending() {
+        newEntities.clear();
+        updatedEntities.clear();
+        deletedEntities.clear();
+    }
+
+    /**
+     * Пошук уже завантаженого екземпляра в мапі ідентичності.
+     *
+     * @param entityClass клас сутності
+     * @param id          ідентифікатор
+     * @return екземпляр або null
+     */
+    <T> T lookup(Class<T> entityClass, Object id) {
+        Map<Object, Object> entities = identityMap.get(entityClass);
+        return entities == null ? null : entityClass.cast(entities.get(id));
+    }
+
+    /**
+     * Заміна щойно прочитаного екземпляра тим, що вже є в мапі ідентичності;
+     * якщо такого немає, прочитаний екземпляр запам'ятовується.
+     *
+     * @param entityClass клас сутності
+     * @param id          ідентифікатор
+     * @param loaded      щойно прочитаний екземпляр
+     * @return екземпляр, що представляє рядок у цій області
+     */
+    <T> T identify(Class<T> entityClass, Object id, T loaded) {
+        Object existing = identityMap.computeIfAbsent(entityClass, type -> new HashMap<>()).putIfAbsent(id, loaded);
+        if (existing != null) {
+            return entityClass.cast(existing);
+        }
+        refreshSnapshot(entityClass, id, EntityMetadata.of(entityClass).snapshot(loaded));
+        return loaded;
+    }
+
+    void track(Class<?> entityClass, Object id, Object entity) {
+        identityMap.computeIfAbsent(entityClass, type -> new HashMap<>()).put(id, entity);
+        refreshSnapshot(entityClass, id, EntityMetadata.of(entityClass).snapshot(entity));
+    }
+
+    void evict(Class<?> entityClass, Object id) {
+        Map<Object, Object> entities = identityMap.get(entityClass);
+        if (entities != null) {
+            entities.remove(id);
+        }
+        Map<Object, Object[]> rows = snapshots.get(entityClass);
+        if (rows != null) {
+            rows.remove(id);
+        }
+    }
+
+    void clearIdentityMap() {
+        identityMap.clear();
+        snapshots.clear();
+    }
+
+    /**
+     * Знімок колонок рядка на момент завантаження або останнього запису.
+     *
+     * @param entityClass клас сутності
+     * @param id          ідентифікатор
+     * @return значення колонок без id або null, якщо рядок не відстежується
+     */
+    Object[] snapshotOf(Class<?> entityClass, Object id) {
+        Map<Object, Object[]> rows = snapshots.get(entityClass);
+        return rows == null ? null : rows.get(id);
+    }
+
+    void refreshSnapshot(Class<?> entityClass, Object id, Object[] values) {
+        snapshots.computeIfAbsent(entityClass, type -> new HashMap<>()).put(id, values);
+    }
+
+    /**
+     * Реєстрація на оновлення відстежуваних сутностей, змінених після завантаження,
+     * якщо їх не зареєстровано явно.
+     */
+    void registerDirty() {
+        for (Map.Entry<Class<?>, Map<Object, Object>> byClass : identityMap.entrySet()) {
+            EntityMetadata<?> metadata = EntityMetadata.of(byClass.getKey());
+            for (Map.Entry<Object, Object> entry : byClass.getValue().entrySet()) {
+                Object id = entry.getKey();
+                Object entity = entry.getValue();
+                Object[] snapshot = snapshotOf(byClass.getKey(), id);
+                if (snapshot == null || updatedEntities.containsKey(id) || isDeleted(entity)) {
+                    continue;
+                }
+                if (metadata.dirtyMask(snapshot, metadata.snapshot(entity)) != 0) {
+                    updatedEntities.put(id, entity);
+                }
+            }
+        }
+    }
+
+    private boolean isDeleted(Object entity) {
+        for (Object deleted : deletedEntities) {
+            if (deleted == entity) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Прив'язка з'єднання транзакції. Репозиторії отримують обгортку, чий close() нічого
+     * не робить: з'єднання повертається в пул лише після завершення транзакції.
+     *
+     * @param transactionConnection з'єднання з вимкненим автокомітом
+     */
+    void bind(Connection transactionConnection) {
+        this.connection = (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(transactionConnection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    void unbind() {
+        this.connection = null;
+    }
+}
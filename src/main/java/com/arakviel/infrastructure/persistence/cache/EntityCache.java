@@ -0,0 +1,181 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Кеш сутностей другого рівня для репозиторію: обмежений за розміром (витісняється
+ * найдавніше використаний запис) і за часом життя запису. Кеш зберігає власні копії
+ * сутностей і видає копії, тож зміни отриманого об'єкта не потрапляють у кеш без запису
+ * в базу.
+ * <p>
+ * Щоб читач не поклав у кеш значення, прочитане до паралельного запису, заповнення
+ * виконується з маркером ({@link #readToken()}): якщо між початком читання з бази і
+ * {@link #putIfFresh} відбулося інвалідування, значення не кешується.
+ *
+ * @param <ID> тип ідентифікатора
+ * @param <T>  тип сутності
+ */
+public final class EntityCache<ID, T> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final UnaryOperator<T> copier;
+    private final Map<ID, Entry<T>> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Конструктор кешу.
+     *
+     * @param name    назва кешу (зазвичай таблиця)
+     * @param maxSize максимальна кількість записів
+     * @param ttl     час життя запису
+     * @param copier  створення незалежної копії сутності
+     */
+    public EntityCache(String name, int maxSize, Duration ttl, UnaryOperator<T> copier) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Розмір кешу має бути більше 0");
+        }
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Час життя запису кешу має бути більше 0");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.copier = copier;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ID, Entry<T>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Пошук сутності в кеші.
+     *
+     * @param id ідентифікатор
+     * @return копія сутності або null, якщо запису немає або він застарів
+     */
+    public T get(ID id) {
+        Entry<T> entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(id);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copier.apply(entry.value);
+    }
+
+    /**
+     * Маркер для заповнення кешу; береться до читання з бази.
+     */
+    public long readToken() {
+        return invalidations.get();
+    }
+
+    /**
+     * Збереження прочитаної з бази сутності, якщо після отримання маркера кеш
+     * не інвалідувався.
+     *
+     * @param id     ідентифікатор
+     * @param entity сутність
+     * @param token  маркер, отриманий до читання
+     */
+    public void putIfFresh(ID id, T entity, long token) {
+        Entry<T> entry = new Entry<>(copier.apply(entity), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            if (invalidations.get() == token) {
+                entries.put(id, entry);
+            }
+        }
+    }
+
+    /**
+     * Вилучення записів після зміни рядків.
+     *
+     * @param ids ідентифікатори змінених або видалених сутностей
+     */
+    public void invalidateAll(Collection<?> ids) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.keySet().removeAll(ids);
+        }
+    }
+
+    /**
+     * Повне очищення кешу.
+     */
+    public void clear() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Знімок метрик кешу.
+     *
+     * @return кількість влучань, промахів, витіснень і поточний розмір
+     */
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(name, hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private record Entry<T>(T value, long expiresAt) {
+    }
+
+    /**
+     * Знімок метрик кешу.
+     *
+     * @param name      назва кешу
+     * @param hits      влучання
+     * @param misses    промахи
+     * @param evictions записи, витіснені через обмеження розміру
+     * @param size      поточна кількість записів
+     */
+    public record Stats(String name, long hits, long misses, long evictions, int size) {
+
+        /**
+         * Частка влучань серед усіх звернень (0, якщо звернень не було).
+         */
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        /**
+         * Подання знімка одним рядком для журналу.
+         */
+        public String toLogLine() {
+            return String.format(Locale.ROOT,
+                    "Кеш %s: hits=%d misses=%d hitRatio=%.3f evictions=%d size=%d",
+                    name, hits, misses, hitRatio(), evictions, size);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Реєстр кешів сутностей, індексів існування та кешу результатів запитів. Кеш сутностей
+ * створюється лише для таблиць, для яких його ввімкнено в налаштуваннях
+ * ({@code cache.entity.<таблиця>.enabled}); усі кеші мають спільні обмеження розміру
+ * та часу життя.
+ */
+public final class EntityCacheManager {
+
+    private static final double EXISTENCE_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Settings settings;
+    private final Map<String, EntityCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final Map<String, ExistenceIndex> existenceIndexes = new ConcurrentHashMap<>();
+    private final QueryResultCache queryResultCache;
+
+    /**
+     * Конструктор реєстру.
+     *
+     * @param settings налаштування кешів
+     */
+    public EntityCacheManager(Settings settings) {
+        this.settings = settings;
+        this.queryResultCache = new QueryResultCache(new TableVersionTracker(), settings.queryMaxRows());
+    }
+
+    /**
+     * Кеш для таблиці.
+     *
+     * @param tableName   назва таблиці
+     * @param entityClass клас сутності
+     * @return кеш або null, якщо для таблиці його вимкнено
+     */
+    @SuppressWarnings("unchecked")
+    public <ID, T> EntityCache<ID, T> cacheFor(String tableName, Class<T> entityClass) {
+        if (!settings.enabled().test(tableName)) {
+            return null;
+        }
+        EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+        return (EntityCache<ID, T>) caches.computeIfAbsent(tableName,
+                name -> new EntityCache<ID, T>(name, settings.maxSize(), settings.ttl(), metadata::copy));
+    }
+
+    /**
+     * Кеш результатів запитів, спільний для всіх репозиторіїв: запит одного репозиторію
+     * може читати таблицю, у яку пише інший.
+     */
+    public QueryResultCache queryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Індекс існування для колонки таблиці.
+     *
+     * @param tableName  назва таблиці
+     * @param columnName назва колонки
+     * @return індекс існування
+     */
+    public ExistenceIndex existenceIndex(String tableName, String columnName) {
+        return existenceIndexes.computeIfAbsent(tableName + "." + columnName,
+                name -> new ExistenceIndex(name, settings.existenceExpectedValues(),
+                        EXISTENCE_FALSE_POSITIVE_RATE, settings.maxSize()));
+    }
+
+    /**
+     * Очищення всіх кешів та індексів існування, наприклад після зміни даних поза репозиторіями.
+     */
+    public void clearAll() {
+        caches.values().forEach(EntityCache::clear);
+        existenceIndexes.values().forEach(ExistenceIndex::reset);
+        queryResultCache.clear();
+    }
+
+    /**
+     * Метрики всіх індексів існування.
+     *
+     * @return знімки метрик
+     */
+    public List<ExistenceIndex.Stats> existenceStats() {
+        List<ExistenceIndex.Stats> stats = new ArrayList<>();
+        existenceIndexes.values().forEach(index -> stats.add(index.stats()));
+        return stats;
+    }
+
+    /**
+     * Метрики всіх створених кешів.
+     *
+     * @return знімки метрик
+     */
+    public List<EntityCache.Stats> stats() {
+        List<EntityCache.Stats> stats = new ArrayList<>();
+        caches.values().forEach(cache -> stats.add(cache.stats()));
+        stats.add(queryResultCache.stats());
+        return stats;
+    }
+
+    /**
+     * Налаштування кешів.
+     *
+     * @param enabled                 чи ввімкнено кеш сутностей для таблиці
+     * @param maxSize                 максимальна кількість записів у кожному кеші
+     * @param ttl                     час життя запису
+     * @param existenceExpectedValues очікувана кількість значень у колонці з індексом існування
+     * @param queryMaxRows            максимальна сумарна кількість рядків у кеші запитів
+     */
+    public record Settings(Predicate<String> enabled, int maxSize, Duration ttl, int existenceExpectedValues,
+                           long queryMaxRows) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Індекс існування значень унікальної колонки для перевірок перед вставкою.
+ * <p>
+ * Фільтр Блума містить усі значення колонки: якщо він каже «немає», значення в таблиці
+ * точно немає і запит не потрібен. Набір підтверджених значень запам'ятовує відповіді
+ * «є», отримані з бази, тож повторна перевірка існуючого значення теж не йде в базу.
+ * Фільтр лише накопичує значення, тому після видалень і перейменувань він дає хибні
+ * «можливо є», які перевіряються запитом; набір підтверджених значень при таких змінах
+ * очищається повністю, коли зміну вже видно іншим з'єднанням. Підтвердження, прочитане
+ * з бази до такого очищення, відкидається за маркером, як у {@link EntityCache#putIfFresh}.
+ * <p>
+ * Фільтр заповнюється одним проходом по колонці ({@link #warm}); до цього індекс нічого
+ * не стверджує. Індекс — лише оптимізація: унікальність гарантують обмеження бази.
+ */
+public final class ExistenceIndex {
+
+    private final String name;
+    private final int bitCount;
+    private final int hashCount;
+    private final int maxConfirmed;
+    private final AtomicLongArray bits;
+    private final Map<String, Boolean> confirmed = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder answered = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile boolean warm;
+
+    /**
+     * Конструктор індексу.
+     *
+     * @param name              назва індексу (таблиця та колонка)
+     * @param expectedValues    очікувана кількість значень у колонці
+     * @param falsePositiveRate допустима частка хибних «можливо є» (від 0 до 1)
+     * @param maxConfirmed      максимальна кількість запам'ятованих підтверджених значень
+     */
+    public ExistenceIndex(String name, int expectedValues, double falsePositiveRate, int maxConfirmed) {
+        if (expectedValues <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Некоректні параметри індексу існування " + name);
+        }
+        this.name = name;
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedValues * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedValues * ln2));
+        this.maxConfirmed = maxConfirmed;
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    /**
+     * Чи заповнено фільтр значеннями колонки.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Заповнення фільтра всіма значеннями колонки.
+     *
+     * @param values значення колонки
+     */
+    public void warm(Iterable<String> values) {
+        for (String value : values) {
+            add(value);
+        }
+        warm = true;
+    }
+
+    /**
+     * Додавання значення, що з'явилося або може з'явитися в таблиці.
+     *
+     * @param value значення колонки
+     */
+    public void add(String value) {
+        long[] hashes = hashes(value);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(hashes, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Перевірка без запиту до бази.
+     *
+     * @param value значення колонки
+     * @return {@link Answer#ABSENT} або {@link Answer#PRESENT}, якщо відповідь відома точно,
+     * інакше {@link Answer#UNKNOWN}
+     */
+    public Answer lookup(String value) {
+        lookups.increment();
+        if (warm && !mightContain(value)) {
+            answered.increment();
+            return Answer.ABSENT;
+        }
+        if (confirmed.containsKey(value)) {
+            answered.increment();
+            return Answer.PRESENT;
+        }
+        return Answer.UNKNOWN;
+    }
+
+    /**
+     * Маркер для підтвердження значення; береться до запиту в базу.
+     */
+    public long readToken() {
+        return invalidations.get();
+    }
+
+    /**
+     * Запам'ятовування значення, наявність якого підтверджено запитом поза транзакцією,
+     * якщо після отримання маркера підтверджені значення не очищалися.
+     *
+     * @param value значення колонки
+     * @param token маркер, отриманий до запиту
+     */
+    public void confirm(String value, long token) {
+        synchronized (confirmed) {
+            if (invalidations.get() == token && confirmed.size() < maxConfirmed) {
+                confirmed.put(value, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Забування підтверджених значень після того, як оновлення або видалення рядків
+     * стало видимим.
+     */
+    public void clearConfirmed() {
+        synchronized (confirmed) {
+            invalidations.incrementAndGet();
+            confirmed.clear();
+        }
+    }
+
+    /**
+     * Повне скидання індексу; фільтр заповниться знову при наступній перевірці.
+     */
+    public void reset() {
+        warm = false;
+        clearConfirmed();
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+
+    /**
+     * Знімок метрик індексу.
+     *
+     * @return кількість перевірок і перевірок, на які відповідь дано без запиту
+     */
+    public Stats stats() {
+        return new Stats(name, lookups.sum(), answered.sum());
+    }
+
+    private boolean mightContain(String value) {
+        long[] hashes = hashes(value);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(hashes, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Подвійне хешування (Кірш–Міценмахер): i-та позиція дорівнює h1 + i * h2.
+     */
+    private int bitIndex(long[] hashes, int i) {
+        long combined = hashes[0] + i * hashes[1];
+        return (int) Long.remainderUnsigned(combined, bitCount);
+    }
+
+    private static long[] hashes(String value) {
+        long h1 = 0xcbf29ce484222325L; // FNV-1a
+        long h2 = 0x9e3779b97f4a7c15L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = Long.rotateLeft(h2 ^ (b & 0xff), 27) * 0xc2b2ae3d27d4eb4fL;
+        }
+        return new long[]{mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Відповідь індексу.
+     */
+    public enum Answer {
+        ABSENT, PRESENT, UNKNOWN
+    }
+
+    /**
+     * Знімок метрик індексу.
+     *
+     * @param name     назва індексу
+     * @param lookups  усі перевірки
+     * @param answered перевірки, на які відповідь дано без запиту до бази
+     */
+    public record Stats(String name, long lookups, long answered) {
+    }
+}
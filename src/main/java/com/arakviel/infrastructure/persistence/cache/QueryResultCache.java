@@ -0,0 +1,137 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Кеш результатів запитів за текстом SQL і параметрами. Разом із результатом зберігаються
+ * версії таблиць, які читає запит ({@link TableVersionTracker}); після запису в будь-яку
+ * з них результат вважається застарілим без явного пошуку залежних записів.
+ * <p>
+ * Обсяг кешу обмежено сумарною вагою записів, де вага — кількість рядків результату;
+ * при перевищенні витісняються найдавніше використані записи.
+ */
+public final class QueryResultCache {
+
+    private final TableVersionTracker tableVersions;
+    private final long maxWeight;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long weight;
+    private long generation;
+
+    /**
+     * Конструктор кешу.
+     *
+     * @param tableVersions лічильники версій таблиць
+     * @param maxWeight     максимальна сумарна кількість рядків у кеші
+     */
+    public QueryResultCache(TableVersionTracker tableVersions, long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Розмір кешу запитів має бути більше 0");
+        }
+        this.tableVersions = tableVersions;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Лічильники версій таблиць, за якими інвалідуються результати.
+     */
+    public TableVersionTracker tableVersions() {
+        return tableVersions;
+    }
+
+    /**
+     * Результат запиту з кешу або виконання запиту з кешуванням результату.
+     *
+     * @param sql        текст SQL-запиту
+     * @param parameters параметри запиту
+     * @param tableNames таблиці, які читає запит
+     * @param loader     виконання запиту
+     * @param copier     копіювання результату, щоб викликач не змінював збережене значення
+     * @param <R>        тип результату
+     * @return результат запиту
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(String sql, List<Object> parameters, List<String> tableNames,
+                     Supplier<R> loader, UnaryOperator<R> copier) {
+        Key key = new Key(sql, Arrays.asList(parameters.toArray()));
+        long[] versions = tableVersions.versions(tableNames);
+        Entry entry;
+        long loadGeneration;
+        synchronized (entries) {
+            entry = entries.get(key);
+            loadGeneration = generation;
+        }
+        if (entry != null && Arrays.equals(entry.versions, versions)) {
+            hits.increment();
+            return copier.apply((R) entry.value);
+        }
+        misses.increment();
+
+        // Версії прочитано до запиту: якщо таблиця змінилася під час нього, запис
+        // одразу буде застарілим і не потрапить до жодного читача.
+        R value = loader.get();
+        long entryWeight = 1 + (value instanceof Collection<?> rows ? rows.size() : 0);
+        if (entryWeight <= maxWeight / 4) {
+            put(key, new Entry(copier.apply(value), versions, entryWeight), loadGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * Повне очищення кешу, наприклад після зміни даних в обхід репозиторіїв. Результати
+     * запитів, що виконувалися під час очищення, не зберігаються.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+            generation++;
+        }
+    }
+
+    /**
+     * Знімок метрик кешу.
+     *
+     * @return кількість влучань, промахів, витіснень і записів
+     */
+    public EntityCache.Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new EntityCache.Stats("queries", hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private void put(Key key, Entry entry, long loadGeneration) {
+        synchronized (entries) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            weight += entry.weight - (previous != null ? previous.weight : 0);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Key(String sql, List<Object> parameters) {
+    }
+
+    private record Entry(Object value, long[] versions, long weight) {
+    }
+}
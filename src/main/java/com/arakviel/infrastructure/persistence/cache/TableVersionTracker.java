@@ -0,0 +1,49 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Лічильники версій таблиць. Кожен запис у таблицю збільшує її версію; результат запиту,
+ * збережений разом із версіями прочитаних таблиць, дійсний, доки жодна з них не змінилася.
+ */
+public final class TableVersionTracker {
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Поточна версія таблиці.
+     *
+     * @param tableName назва таблиці
+     * @return версія (0, якщо таблиця ще не змінювалася)
+     */
+    public long version(String tableName) {
+        AtomicLong version = versions.get(tableName);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Позначка зміни таблиці.
+     *
+     * @param tableName назва таблиці
+     */
+    public void bump(String tableName) {
+        versions.computeIfAbsent(tableName, name -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Версії кількох таблиць у заданому порядку.
+     *
+     * @param tableNames назви таблиць
+     * @return версії таблиць
+     */
+    long[] versions(List<String> tableNames) {
+        long[] snapshot = new long[tableNames.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = version(tableNames.get(i));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,262 @@
+package com.arakviel.infrastructure.persistence.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Процесор анотацій, що під час компіляції генерує для кожного класу з пакету сутностей пару
+ * {@code <Сутність>RowMapper} / {@code <Сутність>ParameterBinder} у пакеті {@link #GENERATED_PACKAGE}.
+ * Згенерований код звертається до getter/setter, створених Lombok, і читає та встановлює
+ * значення типізованими методами JDBC за порядковими номерами.
+ * <p>
+ * Назви колонок і порядок полів мають збігатися з
+ * {@link com.arakviel.infrastructure.persistence.metadata.EntityMetadata}, інакше згенерована пара
+ * під час виконання ігнорується.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(EntityCodegenProcessor.ENTITY_PACKAGE_OPTION)
+public class EntityCodegenProcessor extends AbstractProcessor {
+
+    public static final String GENERATED_PACKAGE = "com.arakviel.infrastructure.persistence.generated";
+    public static final String ROW_MAPPER_SUFFIX = "RowMapper";
+    public static final String PARAMETER_BINDER_SUFFIX = "ParameterBinder";
+    static final String ENTITY_PACKAGE_OPTION = "persistence.entityPackage";
+    private static final String DEFAULT_ENTITY_PACKAGE = "com.arakviel.domain.entities";
+    private static final String ID_FIELD = "id";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        String entityPackage = processingEnv.getOptions().getOrDefault(ENTITY_PACKAGE_OPTION, DEFAULT_ENTITY_PACKAGE);
+        for (Element element : roundEnv.getRootElements()) {
+            if (element.getKind() != ElementKind.CLASS
+                    || element.getModifiers().contains(Modifier.ABSTRACT)
+                    || !element.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+            if (!packageElement.getQualifiedName().contentEquals(entityPackage)) {
+                continue;
+            }
+            TypeElement entity = (TypeElement) element;
+            if (generated.add(entity.getQualifiedName().toString())) {
+                generate(entity);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement entity) {
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            TypeMirror type = field.asType();
+            properties.add(new Property(field.getSimpleName().toString(),
+                    processingEnv.getTypeUtils().erasure(type).toString(),
+                    type.getKind() == TypeKind.BOOLEAN,
+                    isEnum(type)));
+        }
+
+        String entityName = entity.getQualifiedName().toString();
+        String simpleName = entity.getSimpleName().toString();
+        try {
+            writeSource(simpleName + ROW_MAPPER_SUFFIX, rowMapperSource(entityName, simpleName, properties), entity);
+            writeSource(simpleName + PARAMETER_BINDER_SUFFIX, binderSource(entityName, simpleName, properties), entity);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Не вдалося згенерувати зіставлення для " + entityName + ": " + e.getMessage(), entity);
+        }
+    }
+
+    private void writeSource(String className, String source, TypeElement origin) throws IOException {
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(GENERATED_PACKAGE + "." + className, origin)
+                .openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    private String rowMapperSource(String entityName, String simpleName, List<Property> properties) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            body.append("        if ((ordinal = ordinals[").append(i).append("]) > 0) {\n")
+                    .append(readStatement(property))
+                    .append("        }\n");
+        }
+
+        return header(simpleName + ROW_MAPPER_SUFFIX, "EntityRowMapper", entityName)
+                + columnsConstant(properties)
+                + "    @Override\n"
+                + "    public java.util.List<String> columnNames() {\n"
+                + "        return COLUMNS;\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public " + entityName + " map(java.sql.ResultSet rs, int[] ordinals) throws java.sql.SQLException {\n"
+                + "        " + entityName + " entity = new " + entityName + "();\n"
+                + "        int ordinal;\n"
+                + body
+                + "        return entity;\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private String binderSource(String entityName, String simpleName, List<Property> properties) {
+        StringBuilder insert = new StringBuilder();
+        int index = 1;
+        for (Property property : properties) {
+            insert.append(bindStatement(property, index++));
+        }
+
+        StringBuilder update = new StringBuilder();
+        index = 1;
+        for (Property property : properties) {
+            if (!property.name().equals(ID_FIELD)) {
+                update.append(bindStatement(property, index++));
+            }
+        }
+        update.append("        statement.setObject(").append(index).append(", id);\n");
+
+        return header(simpleName + PARAMETER_BINDER_SUFFIX, "EntityParameterBinder", entityName)
+                + columnsConstant(properties)
+                + "    @Override\n"
+                + "    public java.util.List<String> columnNames() {\n"
+                + "        return COLUMNS;\n"
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public void bindInsert(java.sql.PreparedStatement statement, " + entityName + " entity)"
+                + " throws java.sql.SQLException {\n"
+                + insert
+                + "    }\n\n"
+                + "    @Override\n"
+                + "    public void bindUpdate(java.sql.PreparedStatement statement, " + entityName + " entity, Object id)"
+                + " throws java.sql.SQLException {\n"
+                + update
+                + "    }\n"
+                + "}\n";
+    }
+
+    private String header(String className, String contract, String entityName) {
+        return "package " + GENERATED_PACKAGE + ";\n\n"
+                + "@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n"
+                + "public final class " + className
+                + " implements com.arakviel.infrastructure.persistence.metadata." + contract + "<" + entityName + "> {\n\n";
+    }
+
+    private String columnsConstant(List<Property> properties) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (Property property : properties) {
+            columns.add('"' + toColumnName(property.name()) + '"');
+        }
+        return "    private static final java.util.List<String> COLUMNS = java.util.List.of(" + columns + ");\n\n";
+    }
+
+    private String readStatement(Property property) {
+        String setter = "entity." + accessor("set", property.name());
+        String type = property.typeName();
+        return switch (type) {
+            case "java.lang.String" -> "            " + setter + "(rs.getString(ordinal));\n";
+            case "int", "java.lang.Integer" -> primitiveRead(setter, "int", "getInt");
+            case "long", "java.lang.Long" -> primitiveRead(setter, "long", "getLong");
+            case "boolean", "java.lang.Boolean" -> primitiveRead(setter, "boolean", "getBoolean");
+            case "java.time.LocalDateTime" ->
+                    "            java.sql.Timestamp value = rs.getTimestamp(ordinal);\n"
+                            + "            if (value != null) {\n"
+                            + "                " + setter + "(value.toLocalDateTime());\n"
+                            + "            }\n";
+            default -> property.isEnum()
+                    ? "            String value = rs.getString(ordinal);\n"
+                    + "            if (value != null) {\n"
+                    + "                " + setter + "(" + type + ".valueOf(value));\n"
+                    + "            }\n"
+                    : "            " + setter + "(rs.getObject(ordinal, " + type + ".class));\n";
+        };
+    }
+
+    private String primitiveRead(String setter, String primitive, String getter) {
+        return "            " + primitive + " value = rs." + getter + "(ordinal);\n"
+                + "            if (!rs.wasNull()) {\n"
+                + "                " + setter + "(value);\n"
+                + "            }\n";
+    }
+
+    private String bindStatement(Property property, int index) {
+        String getter = "entity." + accessor(property.isPrimitiveBoolean() ? "is" : "get", property.name()) + "()";
+        String type = property.typeName();
+        return switch (type) {
+            case "int" -> "        statement.setInt(" + index + ", " + getter + ");\n";
+            case "long" -> "        statement.setLong(" + index + ", " + getter + ");\n";
+            case "boolean" -> "        statement.setBoolean(" + index + ", " + getter + ");\n";
+            case "java.time.LocalDateTime" -> "        {\n"
+                    + "            java.time.LocalDateTime value = " + getter + ";\n"
+                    + "            statement.setObject(" + index + ", value != null ? java.sql.Timestamp.valueOf(value) : null);\n"
+                    + "        }\n";
+            default -> property.isEnum()
+                    ? "        {\n"
+                    + "            " + type + " value = " + getter + ";\n"
+                    + "            statement.setObject(" + index + ", value != null ? value.name() : null);\n"
+                    + "        }\n"
+                    : "        statement.setObject(" + index + ", " + getter + ");\n";
+        };
+    }
+
+    private boolean isEnum(TypeMirror type) {
+        Element element = processingEnv.getTypeUtils().asElement(type);
+        return element != null && element.getKind() == ElementKind.ENUM;
+    }
+
+    private static String accessor(String prefix, String fieldName) {
+        return prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    /**
+     * Перетворення camelCase у snake_case за тими ж правилами, що й у EntityMetadata.
+     */
+    private static String toColumnName(String fieldName) {
+        StringBuilder result = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char ch = fieldName.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                if (i > 0 && Character.isLowerCase(fieldName.charAt(i - 1))) {
+                    result.append('_');
+                }
+                result.append(Character.toLowerCase(ch));
+            } else {
+                result.append(ch);
+            }
+        }
+        return result.toString();
+    }
+
+    private record Property(String name, String typeName, boolean isPrimitiveBoolean, boolean isEnum) {
+    }
+}
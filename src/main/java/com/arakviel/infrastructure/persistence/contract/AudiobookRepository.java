@@ -2,6 +2,7 @@ package com.arakviel.infrastructure.persistence.contract;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.AudiobookFile;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
 import com.arakviel.infrastructure.persistence.Repository;
 
 import java.util.List;
@@ -76,4 +77,14 @@ public interface AudiobookRepository extends Repository<Audiobook, UUID> {
      * @return кількість аудіокниг
      */
     long countByGenreId(UUID genreId);
+
+    /**
+     * Повнотекстовий пошук аудіокниг за назвою та описом з ранжуванням за релевантністю.
+     *
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка аудіокниг з кількістю всіх знайдених
+     */
+    PageWithTotal<Audiobook> search(String query, int offset, int limit);
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.arakviel.infrastructure.persistence.contract;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.projections.AudiobookSummary;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
 import com.arakviel.infrastructure.persistence.Repository;
 
 import java.util.List;
@@ -21,6 +23,15 @@ public interface AuthorRepository extends Repository<Author, UUID> {
      */
     List<Author> findByName(String firstName, String lastName);
 
+    /**
+     * Перевірка існування автора з таким ім’ям та прізвищем.
+     *
+     * @param firstName ім’я автора
+     * @param lastName  прізвище автора
+     * @return true, якщо автор існує
+     */
+    boolean existsByName(String firstName, String lastName);
+
     /**
      * Пошук аудіокниг за ідентифікатором автора.
      *
@@ -29,6 +40,14 @@ public interface AuthorRepository extends Repository<Author, UUID> {
      */
     List<Audiobook> findAudiobooksByAuthorId(UUID authorId);
 
+    /**
+     * Пошук коротких даних аудіокниг за ідентифікатором автора для списків.
+     *
+     * @param authorId ідентифікатор автора
+     * @return список проєкцій аудіокниг, упорядкованих за назвою
+     */
+    List<AudiobookSummary> findAudiobookSummariesByAuthorId(UUID authorId);
+
     /**
      * Пошук авторів за частковою відповідністю імені або прізвища.
      *
@@ -37,6 +56,15 @@ public interface AuthorRepository extends Repository<Author, UUID> {
      */
     List<Author> findByPartialName(String partialName);
 
+    /**
+     * Нечіткий пошук авторів за ім’ям або прізвищем з допуском на опечатки.
+     *
+     * @param name      шукане ім’я або прізвище
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список авторів від найсхожішого
+     */
+    List<Author> findBySimilarName(String name, double threshold);
+
     /**
      * Підрахунок аудіокниг для автора.
      *
@@ -44,4 +72,14 @@ public interface AuthorRepository extends Repository<Author, UUID> {
      * @return кількість аудіокниг
      */
     long countAudiobooksByAuthorId(UUID authorId);
+
+    /**
+     * Повнотекстовий пошук авторів за ім’ям, прізвищем і біографією з ранжуванням за релевантністю.
+     *
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка авторів з кількістю всіх знайдених
+     */
+    PageWithTotal<Author> search(String query, int offset, int limit);
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.arakviel.infrastructure.persistence.contract;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookSummary;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
 import com.arakviel.infrastructure.persistence.Repository;
 
 import java.util.List;
@@ -28,6 +30,14 @@ public interface GenreRepository extends Repository<Genre, UUID> {
      */
     List<Audiobook> findAudiobooksByGenreId(UUID genreId);
 
+    /**
+     * Пошук коротких даних аудіокниг за ідентифікатором жанру для списків.
+     *
+     * @param genreId ідентифікатор жанру
+     * @return список проєкцій аудіокниг, упорядкованих за назвою
+     */
+    List<AudiobookSummary> findAudiobookSummariesByGenreId(UUID genreId);
+
     /**
      * Пошук жанрів за ідентифікатором аудіокниги.
      *
@@ -44,6 +54,15 @@ public interface GenreRepository extends Repository<Genre, UUID> {
      */
     List<Genre> findByPartialName(String partialName);
 
+    /**
+     * Нечіткий пошук жанрів за назвою з допуском на опечатки.
+     *
+     * @param name      шукана назва жанру
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список жанрів від найсхожішого
+     */
+    List<Genre> findBySimilarName(String name, double threshold);
+
     /**
      * Підрахунок аудіокниг для жанру.
      *
@@ -59,4 +78,14 @@ public interface GenreRepository extends Repository<Genre, UUID> {
      * @return true, якщо жанр існує
      */
     boolean existsByName(String name);
+
+    /**
+     * Повнотекстовий пошук жанрів за назвою та описом з ранжуванням за релевантністю.
+     *
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка жанрів з кількістю всіх знайдених
+     */
+    PageWithTotal<Genre> search(String query, int offset, int limit);
 }
\ No newline at end of file
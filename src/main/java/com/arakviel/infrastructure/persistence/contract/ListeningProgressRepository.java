@@ -1,8 +1,11 @@
 package com.arakviel.infrastructure.persistence.contract;
 
 import com.arakviel.domain.entities.ListeningProgress;
+import com.arakviel.domain.projections.RecentAudiobook;
 import com.arakviel.infrastructure.persistence.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,7 +31,15 @@ public interface ListeningProgressRepository extends Repository<ListeningProgres
      */
     List<ListeningProgress> findByAudiobookId(UUID audiobookId);
 
-    // TODO: Audiobook last progress by lastListened field
+    /**
+     * Останні прослухані користувачем аудіокниги, від найновішої, разом з даними
+     * аудіокниги та автора. Записи без часу прослуховування не враховуються.
+     *
+     * @param userId ідентифікатор користувача
+     * @param limit  максимальна кількість аудіокниг
+     * @return список аудіокниг із позицією прослуховування
+     */
+    List<RecentAudiobook> findRecentByUserId(UUID userId, int limit);
 
     /**
      * Пошук прогресу прослуховування для конкретного користувача та аудіокниги.
@@ -46,4 +57,24 @@ public interface ListeningProgressRepository extends Repository<ListeningProgres
      * @return кількість записів прогресу
      */
     long countByUserId(UUID userId);
+
+    /**
+     * Атомарне збереження позиції: оновлення запису для пари (користувач, аудіокнига)
+     * або створення нового, одним запитом. Позиція, старша за збережену, не застосовується.
+     *
+     * @param userId       ідентифікатор користувача
+     * @param audiobookId  ідентифікатор аудіокниги
+     * @param position     позиція в секундах
+     * @param lastListened час прослуховування
+     */
+    void upsertProgress(UUID userId, UUID audiobookId, int position, LocalDateTime lastListened);
+
+    /**
+     * Пакетне атомарне збереження позицій за парою (користувач, аудіокнига).
+     * Ідентифікатори записів у переданих об'єктах ігноруються; позиції, старші за збережені,
+     * не застосовуються.
+     *
+     * @param progresses позиції для збереження
+     */
+    void upsertAll(Collection<ListeningProgress> progresses);
 }
\ No newline at end of file
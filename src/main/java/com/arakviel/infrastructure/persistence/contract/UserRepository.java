@@ -53,6 +53,15 @@ public interface UserRepository extends Repository<User, UUID> {
      */
     List<User> findByPartialUsername(String partialUsername);
 
+    /**
+     * Нечіткий пошук користувачів за ім’ям з допуском на опечатки.
+     *
+     * @param username  шукане ім’я користувача
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список користувачів від найсхожішого
+     */
+    List<User> findBySimilarUsername(String username, double threshold);
+
     /**
      * Підрахунок колекцій користувача.
      *
@@ -0,0 +1,15 @@
+package com.arakviel.infrastructure.persistence.exception;
+
+/**
+ * Виняток, що виникає, коли пул не зміг видати з'єднання за відведений час.
+ */
+public class ConnectionTimeoutException extends DatabaseAccessException {
+
+    public ConnectionTimeoutException(String message) {
+        super(message);
+    }
+
+    public ConnectionTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
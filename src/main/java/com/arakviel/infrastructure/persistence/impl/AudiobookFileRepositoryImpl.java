@@ -3,6 +3,7 @@ package com.arakviel.infrastructure.persistence.impl;
 import com.arakviel.domain.entities.AudiobookFile;
 import com.arakviel.domain.enums.FileFormat;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.AudiobookFileRepository;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
@@ -19,10 +20,11 @@ public class AudiobookFileRepositoryImpl extends GenericRepository<AudiobookFile
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager реєстр кешів сутностей і запитів
      */
-    public AudiobookFileRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, AudiobookFile.class, "audiobook_files");
+    public AudiobookFileRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager) {
+        super(connectionPool, AudiobookFile.class, "audiobook_files", entityCacheManager);
     }
 
     /**
@@ -2,14 +2,15 @@ package com.arakviel.infrastructure.persistence.impl;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.AudiobookFile;
-import com.arakviel.domain.enums.FileFormat;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.AudiobookRepository;
-import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,13 +20,19 @@ import java.util.UUID;
 @Repository
 public class AudiobookRepositoryImpl extends GenericRepository<Audiobook, UUID> implements AudiobookRepository {
 
+    private static final EntityMetadata<AudiobookFile> AUDIOBOOK_FILE_METADATA = EntityMetadata.of(AudiobookFile.class);
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager реєстр кешів сутностей і запитів
+     * @param searchIndexes      пошукові індекси таблиць
      */
-    public AudiobookRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Audiobook.class, "audiobooks");
+    public AudiobookRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager,
+                                   SearchIndexRegistry searchIndexes) {
+        super(connectionPool, Audiobook.class, "audiobooks", entityCacheManager);
+        indexText(searchIndexes.textIndex(tableName), "title", "description");
     }
 
     /**
@@ -59,7 +66,7 @@ public class AudiobookRepositoryImpl extends GenericRepository<Audiobook, UUID>
     @Override
     public List<AudiobookFile> findFilesByAudiobookId(UUID audiobookId) {
         String sql = "SELECT * FROM audiobook_files WHERE audiobook_id = ?";
-        return executeQuery(sql, stmt -> stmt.setObject(1, audiobookId), this::mapResultSetToAudiobookFiles);
+        return executeQuery(sql, stmt -> stmt.setObject(1, audiobookId), AUDIOBOOK_FILE_METADATA);
     }
 
     /**
@@ -81,14 +88,16 @@ public class AudiobookRepositoryImpl extends GenericRepository<Audiobook, UUID>
     }
 
     /**
-     * Пошук аудіокниг за роком випуску.
+     * Пошук аудіокниг за роком випуску. Результат кешується до наступного запису
+     * в таблицю audiobooks.
      *
      * @param year рік випуску
      * @return список аудіокниг
      */
     @Override
     public List<Audiobook> findByReleaseYear(int year) {
-        return findByField("release_year", year);
+        String sql = "SELECT * FROM audiobooks WHERE release_year = ?";
+        return cachedQuery(sql, List.of(year), List.of(tableName), metadata);
     }
 
     /**
@@ -141,25 +150,16 @@ public class AudiobookRepositoryImpl extends GenericRepository<Audiobook, UUID>
         return count(filter);
     }
 
-
     /**
-     * Зіставлення ResultSet у список файлів аудіокниги.
+     * Повнотекстовий пошук аудіокниг за назвою та описом з ранжуванням за релевантністю.
      *
-     * @param rs результат запиту
-     * @return список файлів аудіокниги
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка аудіокниг з кількістю всіх знайдених
      */
-    private AudiobookFile mapResultSetToAudiobookFiles(ResultSet rs) {
-        try {
-            AudiobookFile file = new AudiobookFile();
-            file.setId(rs.getObject("id", UUID.class));
-            file.setAudiobookId(rs.getObject("audiobook_id", UUID.class));
-            file.setFilePath(rs.getString("file_path"));
-            String format = rs.getString("format");
-            file.setFormat(format != null ? FileFormat.valueOf(format) : null);
-            file.setSize(rs.getInt("size"));
-            return file;
-        } catch (Exception e) {
-            throw new EntityMappingException("Помилка зіставлення ResultSet із файлом аудіокниги", e);
-        }
+    @Override
+    public PageWithTotal<Audiobook> search(String query, int offset, int limit) {
+        return searchText(query, offset, limit);
     }
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package com.arakviel.infrastructure.persistence.impl;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
-import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+import com.arakviel.infrastructure.persistence.metadata.RecordProjection;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,13 +22,23 @@ import java.util.UUID;
 @Repository
 public class AuthorRepositoryImpl extends GenericRepository<Author, UUID> implements AuthorRepository {
 
+    private static final EntityMetadata<Audiobook> AUDIOBOOK_METADATA = EntityMetadata.of(Audiobook.class);
+    private static final RecordProjection<AudiobookSummary> AUDIOBOOK_SUMMARY = RecordProjection.of(AudiobookSummary.class);
+    private static final String AUDIOBOOK_SUMMARIES_SQL =
+            "SELECT " + AUDIOBOOK_SUMMARY.selectList() + " FROM audiobooks WHERE author_id = ? ORDER BY title";
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager кеші сутностей; кеш authors вмикається в налаштуваннях
+     * @param searchIndexes      пошукові індекси таблиць
      */
-    public AuthorRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Author.class, "authors");
+    public AuthorRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager,
+                                SearchIndexRegistry searchIndexes) {
+        super(connectionPool, Author.class, "authors", entityCacheManager);
+        indexText(searchIndexes.textIndex(tableName), "first_name", "last_name", "bio");
+        indexTrigrams(searchIndexes.trigramIndex(tableName), "first_name", "last_name");
     }
 
     /**
@@ -47,6 +61,23 @@ public class AuthorRepositoryImpl extends GenericRepository<Author, UUID> implem
         );
     }
 
+    /**
+     * Перевірка існування автора з таким ім’ям та прізвищем.
+     *
+     * @param firstName ім’я автора
+     * @param lastName  прізвище автора
+     * @return true, якщо автор існує
+     */
+    @Override
+    public boolean existsByName(String firstName, String lastName) {
+        return exists((whereClause, params) -> {
+            whereClause.add("first_name = ?");
+            whereClause.add("last_name = ?");
+            params.add(firstName);
+            params.add(lastName);
+        });
+    }
+
     /**
      * Пошук аудіокниг за ідентифікатором автора.
      *
@@ -56,7 +87,19 @@ public class AuthorRepositoryImpl extends GenericRepository<Author, UUID> implem
     @Override
     public List<Audiobook> findAudiobooksByAuthorId(UUID authorId) {
         String baseSql = "SELECT * FROM audiobooks WHERE author_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, authorId), this::mapResultSetToAudiobook);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, authorId), AUDIOBOOK_METADATA);
+    }
+
+    /**
+     * Пошук коротких даних аудіокниг за ідентифікатором автора: вибираються лише колонки
+     * {@link AudiobookSummary}, без опису.
+     *
+     * @param authorId ідентифікатор автора
+     * @return список проєкцій аудіокниг, упорядкованих за назвою
+     */
+    @Override
+    public List<AudiobookSummary> findAudiobookSummariesByAuthorId(UUID authorId) {
+        return executeQuery(AUDIOBOOK_SUMMARIES_SQL, stmt -> stmt.setObject(1, authorId), AUDIOBOOK_SUMMARY::map);
     }
 
     /**
@@ -67,14 +110,19 @@ public class AuthorRepositoryImpl extends GenericRepository<Author, UUID> implem
      */
     @Override
     public List<Author> findByPartialName(String partialName) {
-        return findAll(
-                (whereClause, params) -> {
-                    whereClause.add("(first_name ILIKE ? OR last_name ILIKE ?)");
-                    params.add("%" + partialName + "%");
-                    params.add("%" + partialName + "%");
-                },
-                null, true, 0, Integer.MAX_VALUE
-        );
+        return findContaining(partialName);
+    }
+
+    /**
+     * Нечіткий пошук авторів за ім’ям або прізвищем з допуском на опечатки.
+     *
+     * @param name      шукане ім’я або прізвище
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список авторів від найсхожішого
+     */
+    @Override
+    public List<Author> findBySimilarName(String name, double threshold) {
+        return findSimilar(name, threshold);
     }
 
     /**
@@ -93,25 +141,15 @@ public class AuthorRepositoryImpl extends GenericRepository<Author, UUID> implem
     }
 
     /**
-     * Зіставлення ResultSet у аудіокнигу.
+     * Повнотекстовий пошук авторів за ім’ям, прізвищем і біографією з ранжуванням за релевантністю.
      *
-     * @param rs результат запиту
-     * @return аудіокнига
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка авторів з кількістю всіх знайдених
      */
-    private Audiobook mapResultSetToAudiobook(ResultSet rs) {
-        try {
-            Audiobook audiobook = new Audiobook();
-            audiobook.setId(rs.getObject("id", UUID.class));
-            audiobook.setAuthorId(rs.getObject("author_id", UUID.class));
-            audiobook.setGenreId(rs.getObject("genre_id", UUID.class));
-            audiobook.setTitle(rs.getString("title"));
-            audiobook.setDuration(rs.getInt("duration"));
-            audiobook.setReleaseYear(rs.getInt("release_year"));
-            audiobook.setDescription(rs.getString("description"));
-            audiobook.setCoverImagePath(rs.getString("cover_image_path"));
-            return audiobook;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із аудіокнигою", e);
-        }
+    @Override
+    public PageWithTotal<Author> search(String query, int offset, int limit) {
+        return searchText(query, offset, limit);
     }
 }
\ No newline at end of file
@@ -3,12 +3,16 @@ package com.arakviel.infrastructure.persistence.impl;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Collection;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.CollectionRepository;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
-import java.sql.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,13 +22,17 @@ import java.util.UUID;
 @Repository
 public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID> implements CollectionRepository {
 
+    private static final EntityMetadata<Audiobook> AUDIOBOOK_METADATA = EntityMetadata.of(Audiobook.class);
+    private static final String AUDIOBOOK_COLLECTION_TABLE = "audiobook_collection";
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager реєстр кешів сутностей і запитів
      */
-    public CollectionRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Collection.class, "collections");
+    public CollectionRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager) {
+        super(connectionPool, Collection.class, "collections", entityCacheManager);
     }
 
     /**
@@ -47,7 +55,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
     @Override
     public List<Audiobook> findAudiobooksByCollectionId(UUID collectionId) {
         String baseSql = "SELECT a.* FROM audiobooks a JOIN audiobook_collection ac ON a.id = ac.audiobook_id WHERE ac.collection_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, collectionId), this::mapResultSetToAudiobook);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, collectionId), AUDIOBOOK_METADATA);
     }
 
     /**
@@ -59,7 +67,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
     @Override
     public List<Collection> findByAudiobookId(UUID audiobookId) {
         String baseSql = "SELECT c.* FROM collections c JOIN audiobook_collection ac ON c.id = ac.collection_id WHERE ac.audiobook_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, audiobookId), this::mapResultSetToCollection);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, audiobookId));
     }
 
     /**
@@ -71,7 +79,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
     @Override
     public void attachAudiobookToCollection(UUID collectionId, UUID audiobookId) {
         String sql = "INSERT INTO audiobook_collection (collection_id, audiobook_id) VALUES (?, ?)";
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setObject(1, collectionId);
             statement.setObject(2, audiobookId);
@@ -79,6 +87,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка прикріплення аудіокниги до колекції: " + sql, e);
         }
+        tableChanged(AUDIOBOOK_COLLECTION_TABLE);
     }
 
     /**
@@ -90,7 +99,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
     @Override
     public void detachAudiobookFromCollection(UUID collectionId, UUID audiobookId) {
         String sql = "DELETE FROM audiobook_collection WHERE collection_id = ? AND audiobook_id = ?";
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setObject(1, collectionId);
             statement.setObject(2, audiobookId);
@@ -98,6 +107,7 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка від'єднання аудіокниги від колекції: " + sql, e);
         }
+        tableChanged(AUDIOBOOK_COLLECTION_TABLE);
     }
 
     /**
@@ -134,55 +144,13 @@ public class CollectionRepositoryImpl extends GenericRepository<Collection, UUID
     @Override
     public void clearCollection(UUID collectionId) {
         String sql = "DELETE FROM audiobook_collection WHERE collection_id = ?";
-        try (Connection connection = connectionPool.getConnection();
+        try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setObject(1, collectionId);
             statement.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка очищення колекції: " + sql, e);
         }
-    }
-
-    /**
-     * Зіставлення ResultSet у аудіокнигу.
-     *
-     * @param rs результат запиту
-     * @return аудіокнига
-     */
-    private Audiobook mapResultSetToAudiobook(ResultSet rs) {
-        try {
-            Audiobook audiobook = new Audiobook();
-            audiobook.setId(rs.getObject("id", UUID.class));
-            audiobook.setAuthorId(rs.getObject("author_id", UUID.class));
-            audiobook.setGenreId(rs.getObject("genre_id", UUID.class));
-            audiobook.setTitle(rs.getString("title"));
-            audiobook.setDuration(rs.getInt("duration"));
-            audiobook.setReleaseYear(rs.getInt("release_year"));
-            audiobook.setDescription(rs.getString("description"));
-            audiobook.setCoverImagePath(rs.getString("cover_image_path"));
-            return audiobook;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із аудіокнигою", e);
-        }
-    }
-
-    /**
-     * Зіставлення ResultSet у колекцію.
-     *
-     * @param rs результат запиту
-     * @return колекція
-     */
-    private Collection mapResultSetToCollection(ResultSet rs) {
-        try {
-            Collection collection = new Collection();
-            collection.setId(rs.getObject("id", UUID.class));
-            collection.setUserId(rs.getObject("user_id", UUID.class));
-            collection.setName(rs.getString("name"));
-            Timestamp createdAt = rs.getTimestamp("created_at");
-            collection.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
-            return collection;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із колекцією", e);
-        }
+        tableChanged(AUDIOBOOK_COLLECTION_TABLE);
     }
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package com.arakviel.infrastructure.persistence.impl;
 
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.PageWithTotal;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.GenreRepository;
-import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+import com.arakviel.infrastructure.persistence.metadata.RecordProjection;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,13 +22,25 @@ import java.util.UUID;
 @Repository
 public class GenreRepositoryImpl extends GenericRepository<Genre, UUID> implements GenreRepository {
 
+    private static final EntityMetadata<Audiobook> AUDIOBOOK_METADATA = EntityMetadata.of(Audiobook.class);
+    private static final List<String> AUDIOBOOK_TABLES = List.of("audiobooks");
+    private static final RecordProjection<AudiobookSummary> AUDIOBOOK_SUMMARY = RecordProjection.of(AudiobookSummary.class);
+    private static final String AUDIOBOOK_SUMMARIES_SQL =
+            "SELECT " + AUDIOBOOK_SUMMARY.selectList() + " FROM audiobooks WHERE genre_id = ? ORDER BY title";
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager кеші сутностей; кеш genres вмикається в налаштуваннях
+     * @param searchIndexes      пошукові індекси таблиць
      */
-    public GenreRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, Genre.class, "genres");
+    public GenreRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager,
+                               SearchIndexRegistry searchIndexes) {
+        super(connectionPool, Genre.class, "genres", entityCacheManager);
+        indexText(searchIndexes.textIndex(tableName), "name", "description");
+        indexTrigrams(searchIndexes.trigramIndex(tableName), "name");
+        indexExistence("name", entityCacheManager.existenceIndex(tableName, "name"));
     }
 
     /**
@@ -39,7 +55,8 @@ public class GenreRepositoryImpl extends GenericRepository<Genre, UUID> implemen
     }
 
     /**
-     * Пошук аудіокниг за ідентифікатором жанру.
+     * Пошук аудіокниг за ідентифікатором жанру. Результат кешується до наступного запису
+     * в таблицю audiobooks.
      *
      * @param genreId ідентифікатор жанру
      * @return список аудіокниг
@@ -47,7 +64,19 @@ public class GenreRepositoryImpl extends GenericRepository<Genre, UUID> implemen
     @Override
     public List<Audiobook> findAudiobooksByGenreId(UUID genreId) {
         String baseSql = "SELECT * FROM audiobooks WHERE genre_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, genreId), this::mapResultSetToAudiobook);
+        return cachedQuery(baseSql, List.of(genreId), AUDIOBOOK_TABLES, AUDIOBOOK_METADATA);
+    }
+
+    /**
+     * Пошук коротких даних аудіокниг за ідентифікатором жанру: вибираються лише колонки
+     * {@link AudiobookSummary}, без опису.
+     *
+     * @param genreId ідентифікатор жанру
+     * @return список проєкцій аудіокниг, упорядкованих за назвою
+     */
+    @Override
+    public List<AudiobookSummary> findAudiobookSummariesByGenreId(UUID genreId) {
+        return executeQuery(AUDIOBOOK_SUMMARIES_SQL, stmt -> stmt.setObject(1, genreId), AUDIOBOOK_SUMMARY::map);
     }
 
     /**
@@ -59,7 +88,7 @@ public class GenreRepositoryImpl extends GenericRepository<Genre, UUID> implemen
     @Override
     public List<Genre> findByAudiobookId(UUID audiobookId) {
         String baseSql = "SELECT g.* FROM genres g JOIN audiobooks a ON g.id = a.genre_id WHERE a.id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, audiobookId), this::mapResultSetToGenre);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, audiobookId));
     }
 
     /**
@@ -70,83 +99,56 @@ public class GenreRepositoryImpl extends GenericRepository<Genre, UUID> implemen
      */
     @Override
     public List<Genre> findByPartialName(String partialName) {
-        return findAll(
-                (whereClause, params) -> {
-                    whereClause.add("name ILIKE ?");
-                    params.add("%" + partialName + "%");
-                },
-                null, true, 0, Integer.MAX_VALUE
-        );
+        return findContaining(partialName);
+    }
+
+    /**
+     * Нечіткий пошук жанрів за назвою з допуском на опечатки.
+     *
+     * @param name      шукана назва жанру
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список жанрів від найсхожішого
+     */
+    @Override
+    public List<Genre> findBySimilarName(String name, double threshold) {
+        return findSimilar(name, threshold);
     }
 
     /**
-     * Підрахунок аудіокниг для жанру.
+     * Підрахунок аудіокниг для жанру. Результат кешується до наступного запису
+     * в таблицю audiobooks.
      *
      * @param genreId ідентифікатор жанру
      * @return кількість аудіокниг
      */
     @Override
     public long countAudiobooksByGenreId(UUID genreId) {
-        Filter filter = (whereClause, params) -> {
-            whereClause.add("genre_id = ?");
-            params.add(genreId);
-        };
-        return count(filter, "audiobooks");
+        String sql = "SELECT COUNT(*) FROM audiobooks WHERE genre_id = ?";
+        return cachedCount(sql, List.of(genreId), AUDIOBOOK_TABLES);
     }
 
     /**
-     * Перевірка існування жанру за назвою.
+     * Перевірка існування жанру за назвою; відсутні назви відсіюються індексом існування
+     * без запиту до бази.
      *
      * @param name назва жанру
      * @return true, якщо жанр існує
      */
     @Override
     public boolean existsByName(String name) {
-        Filter filter = (whereClause, params) -> {
-            whereClause.add("name = ?");
-            params.add(name);
-        };
-        return count(filter) > 0;
-    }
-
-    /**
-     * Зіставлення ResultSet у аудіокнигу.
-     *
-     * @param rs результат запиту
-     * @return аудіокнига
-     */
-    private Audiobook mapResultSetToAudiobook(ResultSet rs) {
-        try {
-            Audiobook audiobook = new Audiobook();
-            audiobook.setId(rs.getObject("id", UUID.class));
-            audiobook.setAuthorId(rs.getObject("author_id", UUID.class));
-            audiobook.setGenreId(rs.getObject("genre_id", UUID.class));
-            audiobook.setTitle(rs.getString("title"));
-            audiobook.setDuration(rs.getInt("duration"));
-            audiobook.setReleaseYear(rs.getInt("release_year"));
-            audiobook.setDescription(rs.getString("description"));
-            audiobook.setCoverImagePath(rs.getString("cover_image_path"));
-            return audiobook;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із аудіокнигою", e);
-        }
+        return existsBy("name", name);
     }
 
     /**
-     * Зіставлення ResultSet у жанр.
+     * Повнотекстовий пошук жанрів за назвою та описом з ранжуванням за релевантністю.
      *
-     * @param rs результат запиту
-     * @return жанр
+     * @param query  текст запиту; останнє слово може бути неповним
+     * @param offset зміщення в ранжованому списку
+     * @param limit  розмір сторінки
+     * @return сторінка жанрів з кількістю всіх знайдених
      */
-    private Genre mapResultSetToGenre(ResultSet rs) {
-        try {
-            Genre genre = new Genre();
-            genre.setId(rs.getObject("id", UUID.class));
-            genre.setName(rs.getString("name"));
-            genre.setDescription(rs.getString("description"));
-            return genre;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із жанром", e);
-        }
+    @Override
+    public PageWithTotal<Genre> search(String query, int offset, int limit) {
+        return searchText(query, offset, limit);
     }
 }
\ No newline at end of file
@@ -1,11 +1,22 @@
 package com.arakviel.infrastructure.persistence.impl;
 
 import com.arakviel.domain.entities.ListeningProgress;
+import com.arakviel.domain.projections.RecentAudiobook;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.ListeningProgressRepository;
+import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,13 +27,29 @@ import java.util.UUID;
 @Repository
 public class ListeningProgressRepositoryImpl extends GenericRepository<ListeningProgress, UUID> implements ListeningProgressRepository {
 
+    /**
+     * Один запит з JOIN замість завантаження всього прогресу та сортування в Java.
+     * Індекс listening_progresses_user_id_last_listened_idx віддає рядки користувача
+     * вже впорядкованими, тож читаються лише перші limit записів.
+     */
+    private static final String RECENT_SQL =
+            "SELECT a.id, a.title, a.duration, a.cover_image_path, au.first_name, au.last_name, "
+                    + "lp.position, lp.last_listened "
+                    + "FROM listening_progresses lp "
+                    + "JOIN audiobooks a ON a.id = lp.audiobook_id "
+                    + "LEFT JOIN authors au ON au.id = a.author_id "
+                    + "WHERE lp.user_id = ? AND lp.last_listened IS NOT NULL "
+                    + "ORDER BY lp.last_listened DESC "
+                    + "LIMIT ?";
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager реєстр кешів сутностей і запитів
      */
-    public ListeningProgressRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, ListeningProgress.class, "listening_progresses");
+    public ListeningProgressRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager) {
+        super(connectionPool, ListeningProgress.class, "listening_progresses", entityCacheManager);
     }
 
     /**
@@ -47,6 +74,21 @@ public class ListeningProgressRepositoryImpl extends GenericRepository<Listening
         return findByField("audiobook_id", audiobookId);
     }
 
+    /**
+     * Останні прослухані користувачем аудіокниги з даними аудіокниги та автора.
+     *
+     * @param userId ідентифікатор користувача
+     * @param limit  максимальна кількість аудіокниг
+     * @return список аудіокниг із позицією прослуховування
+     */
+    @Override
+    public List<RecentAudiobook> findRecentByUserId(UUID userId, int limit) {
+        return executeQuery(RECENT_SQL, statement -> {
+            statement.setObject(1, userId);
+            statement.setInt(2, limit);
+        }, ListeningProgressRepositoryImpl::mapRecentAudiobook);
+    }
+
     /**
      * Пошук прогресу прослуховування для конкретного користувача та аудіокниги.
      *
@@ -56,15 +98,12 @@ public class ListeningProgressRepositoryImpl extends GenericRepository<Listening
      */
     @Override
     public Optional<ListeningProgress> findByUserIdAndAudiobookId(UUID userId, UUID audiobookId) {
-        return findAll(
-                (whereClause, params) -> {
-                    whereClause.add("user_id = ?");
-                    whereClause.add("audiobook_id = ?");
-                    params.add(userId);
-                    params.add(audiobookId);
-                },
-                null, true, 0, 1
-        ).stream().findFirst();
+        String sql = cachedSql("findByUserIdAndAudiobookId", () -> String.format(
+                "SELECT * FROM %s WHERE user_id = ? AND audiobook_id = ?", tableName));
+        return executeQuery(sql, statement -> {
+            statement.setObject(1, userId);
+            statement.setObject(2, audiobookId);
+        }).stream().findFirst();
     }
 
     /**
@@ -81,4 +120,84 @@ public class ListeningProgressRepositoryImpl extends GenericRepository<Listening
         };
         return count(filter);
     }
+
+    /**
+     * Атомарне збереження позиції через MERGE за унікальним ключем (user_id, audiobook_id):
+     * без попереднього пошуку і без гонки між пристроями одного користувача.
+     * Позиція зі старшим часом прослуховування, ніж у збереженому записі, не застосовується;
+     * якщо час невідомий, перемагає пізніший запис, як у буфері відкладеного запису.
+     * Новий запис отримує ідентифікатор зі значення за замовчуванням колонки id.
+     *
+     * @param userId       ідентифікатор користувача
+     * @param audiobookId  ідентифікатор аудіокниги
+     * @param position     позиція в секундах
+     * @param lastListened час прослуховування
+     */
+    @Override
+    public void upsertProgress(UUID userId, UUID audiobookId, int position, LocalDateTime lastListened) {
+        executeUpdate(upsertSql(), statement -> bindUpsert(statement, userId, audiobookId, position, lastListened));
+        tableChanged(tableName);
+    }
+
+    /**
+     * Пакетне атомарне збереження позицій одним пакетом MERGE.
+     *
+     * @param progresses позиції для збереження
+     */
+    @Override
+    public void upsertAll(Collection<ListeningProgress> progresses) {
+        if (progresses.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(upsertSql())) {
+            for (ListeningProgress progress : progresses) {
+                bindUpsert(statement, progress.getUserId(), progress.getAudiobookId(),
+                        progress.getPosition(), progress.getLastListened());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new DatabaseAccessException("Помилка пакетного збереження прогресу прослуховування", e);
+        }
+        tableChanged(tableName);
+    }
+
+    private static RecentAudiobook mapRecentAudiobook(ResultSet resultSet) {
+        try {
+            Timestamp lastListened = resultSet.getTimestamp(8);
+            return new RecentAudiobook(
+                    resultSet.getObject(1, UUID.class),
+                    resultSet.getString(2),
+                    resultSet.getInt(3),
+                    resultSet.getString(4),
+                    resultSet.getString(5),
+                    resultSet.getString(6),
+                    resultSet.getInt(7),
+                    lastListened != null ? lastListened.toLocalDateTime() : null);
+        } catch (SQLException e) {
+            throw new EntityMappingException("Помилка зіставлення останніх прослуханих аудіокниг", e);
+        }
+    }
+
+    private String upsertSql() {
+        return cachedSql("upsert", () -> String.format(
+                "MERGE INTO %s t USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS INTEGER), "
+                        + "CAST(? AS TIMESTAMP))) AS s (user_id, audiobook_id, position, last_listened) "
+                        + "ON t.user_id = s.user_id AND t.audiobook_id = s.audiobook_id "
+                        + "WHEN MATCHED AND (t.last_listened IS NULL OR s.last_listened IS NULL "
+                        + "OR t.last_listened <= s.last_listened) "
+                        + "THEN UPDATE SET position = s.position, last_listened = s.last_listened "
+                        + "WHEN NOT MATCHED THEN INSERT (user_id, audiobook_id, position, last_listened) "
+                        + "VALUES (s.user_id, s.audiobook_id, s.position, s.last_listened)", tableName));
+    }
+
+    private static void bindUpsert(PreparedStatement statement, UUID userId, UUID audiobookId,
+                                   int position, LocalDateTime lastListened) throws SQLException {
+        statement.setObject(1, userId);
+        statement.setObject(2, audiobookId);
+        statement.setInt(3, position);
+        statement.setTimestamp(4, lastListened != null ? Timestamp.valueOf(lastListened) : null);
+    }
 }
\ No newline at end of file
@@ -4,13 +4,13 @@ import com.arakviel.domain.entities.Collection;
 import com.arakviel.domain.entities.ListeningProgress;
 import com.arakviel.domain.entities.User;
 import com.arakviel.infrastructure.persistence.GenericRepository;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.UserRepository;
-import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.metadata.EntityMetadata;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
-import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,13 +20,23 @@ import java.util.UUID;
 @Repository
 public class UserRepositoryImpl extends GenericRepository<User, UUID> implements UserRepository {
 
+    private static final EntityMetadata<Collection> COLLECTION_METADATA = EntityMetadata.of(Collection.class);
+    private static final EntityMetadata<ListeningProgress> LISTENING_PROGRESS_METADATA =
+            EntityMetadata.of(ListeningProgress.class);
+
     /**
      * Конструктор репозиторію.
      *
-     * @param connectionPool пул з'єднань до бази даних
+     * @param connectionPool     пул з'єднань до бази даних
+     * @param entityCacheManager реєстр індексів існування для імен і пошти
+     * @param searchIndexes      пошукові індекси таблиць; триграмний індекс імен
      */
-    public UserRepositoryImpl(ConnectionPool connectionPool) {
-        super(connectionPool, User.class, "users");
+    public UserRepositoryImpl(ConnectionPool connectionPool, EntityCacheManager entityCacheManager,
+                              SearchIndexRegistry searchIndexes) {
+        super(connectionPool, User.class, "users", entityCacheManager);
+        indexExistence("username", entityCacheManager.existenceIndex(tableName, "username"));
+        indexExistence("email", entityCacheManager.existenceIndex(tableName, "email"));
+        indexTrigrams(searchIndexes.trigramIndex(tableName), "username");
     }
 
     /**
@@ -60,7 +70,7 @@ public class UserRepositoryImpl extends GenericRepository<User, UUID> implements
     @Override
     public List<Collection> findCollectionsByUserId(UUID userId) {
         String baseSql = "SELECT * FROM collections WHERE user_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, userId), this::mapResultSetToCollection);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, userId), COLLECTION_METADATA);
     }
 
     /**
@@ -72,7 +82,7 @@ public class UserRepositoryImpl extends GenericRepository<User, UUID> implements
     @Override
     public List<ListeningProgress> findListeningProgressByUserId(UUID userId) {
         String baseSql = "SELECT * FROM listening_progresses WHERE user_id = ?";
-        return executeQuery(baseSql, stmt -> stmt.setObject(1, userId), this::mapResultSetToListeningProgress);
+        return executeQuery(baseSql, stmt -> stmt.setObject(1, userId), LISTENING_PROGRESS_METADATA);
     }
 
     /**
@@ -83,13 +93,19 @@ public class UserRepositoryImpl extends GenericRepository<User, UUID> implements
      */
     @Override
     public List<User> findByPartialUsername(String partialUsername) {
-        return findAll(
-                (whereClause, params) -> {
-                    whereClause.add("username ILIKE ?");
-                    params.add("%" + partialUsername + "%");
-                },
-                null, true, 0, Integer.MAX_VALUE
-        );
+        return findContaining(partialUsername);
+    }
+
+    /**
+     * Нечіткий пошук користувачів за ім’ям з допуском на опечатки.
+     *
+     * @param username  шукане ім’я користувача
+     * @param threshold мінімальна триграмна схожість у межах (0, 1]
+     * @return список користувачів від найсхожішого
+     */
+    @Override
+    public List<User> findBySimilarUsername(String username, double threshold) {
+        return findSimilar(username, threshold);
     }
 
     /**
@@ -130,11 +146,7 @@ public class UserRepositoryImpl extends GenericRepository<User, UUID> implements
      */
     @Override
     public boolean existsByUsername(String username) {
-        Filter filter = (whereClause, params) -> {
-            whereClause.add("username = ?");
-            params.add(username);
-        };
-        return count(filter) > 0;
+        return existsBy("username", username);
     }
 
     /**
@@ -145,51 +157,6 @@ public class UserRepositoryImpl extends GenericRepository<User, UUID> implements
      */
     @Override
     public boolean existsByEmail(String email) {
-        Filter filter = (whereClause, params) -> {
-            whereClause.add("email = ?");
-            params.add(email);
-        };
-        return count(filter) > 0;
-    }
-
-    /**
-     * Зіставлення ResultSet у колекцію.
-     *
-     * @param rs результат запиту
-     * @return колекція
-     */
-    private Collection mapResultSetToCollection(ResultSet rs) {
-        try {
-            Collection collection = new Collection();
-            collection.setId(rs.getObject("id", UUID.class));
-            collection.setUserId(rs.getObject("user_id", UUID.class));
-            collection.setName(rs.getString("name"));
-            Timestamp createdAt = rs.getTimestamp("created_at");
-            collection.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
-            return collection;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із колекцією", e);
-        }
-    }
-
-    /**
-     * Зіставлення ResultSet у прогрес прослуховування.
-     *
-     * @param rs результат запиту
-     * @return прогрес прослуховування
-     */
-    private ListeningProgress mapResultSetToListeningProgress(ResultSet rs) {
-        try {
-            ListeningProgress progress = new ListeningProgress();
-            progress.setId(rs.getObject("id", UUID.class));
-            progress.setUserId(rs.getObject("user_id", UUID.class));
-            progress.setAudiobookId(rs.getObject("audiobook_id", UUID.class));
-            progress.setPosition(rs.getInt("position"));
-            Timestamp lastListened = rs.getTimestamp("last_listened");
-            progress.setLastListened(lastListened != null ? lastListened.toLocalDateTime() : null);
-            return progress;
-        } catch (Exception e) {
-            throw new DatabaseAccessException("Помилка зіставлення ResultSet із прогресом прослуховування", e);
-        }
+        return existsBy("email", email);
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Опис однієї колонки сутності: назва поля, назва колонки, тип, доступ до поля, конвертер значень
+ * та типізований читач з ResultSet.
+ * Створюється один раз під час побудови {@link EntityMetadata} і далі лише читається.
+ */
+public final class ColumnMetadata {
+
+    private final int index;
+    private final String fieldName;
+    private final String columnName;
+    private final Class<?> type;
+    private final VarHandle handle;
+    private final ValueConverter converter;
+    private final ColumnReader reader;
+
+    ColumnMetadata(int index, String fieldName, String columnName, Class<?> type,
+                   VarHandle handle, ValueConverter converter) {
+        this.index = index;
+        this.fieldName = fieldName;
+        this.columnName = columnName;
+        this.type = type;
+        this.handle = handle;
+        this.converter = converter;
+        this.reader = ColumnReader.forType(type, converter);
+    }
+
+    /**
+     * Порядковий номер колонки серед усіх колонок сутності (з нуля).
+     */
+    public int index() {
+        return index;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public String columnName() {
+        return columnName;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public boolean isId() {
+        return EntityMetadata.ID_FIELD.equals(fieldName);
+    }
+
+    /**
+     * Читання значення поля сутності.
+     *
+     * @param entity сутність
+     * @return значення поля
+     */
+    public Object get(Object entity) {
+        return handle.get(entity);
+    }
+
+    /**
+     * Запис значення у поле сутності.
+     *
+     * @param entity сутність
+     * @param value  значення поля
+     */
+    public void set(Object entity, Object value) {
+        handle.set(entity, value);
+    }
+
+    /**
+     * Значення поля сутності, підготовлене для PreparedStatement.
+     *
+     * @param entity сутність
+     * @return значення для JDBC або null
+     */
+    public Object toDatabase(Object entity) {
+        Object value = handle.get(entity);
+        return value != null ? converter.toDatabase(value) : null;
+    }
+
+    /**
+     * Запис значення з бази даних у поле сутності з конвертацією типу.
+     * Значення null пропускаються, щоб примітивні поля зберігали значення за замовчуванням.
+     *
+     * @param entity сутність
+     * @param value  значення з бази даних
+     */
+    public void setFromDatabase(Object entity, Object value) {
+        if (value != null) {
+            handle.set(entity, converter.fromDatabase(value));
+        }
+    }
+
+    public ValueConverter converter() {
+        return converter;
+    }
+
+    /**
+     * Типізований читач значення колонки за порядковим номером.
+     */
+    public ColumnReader reader() {
+        return reader;
+    }
+}
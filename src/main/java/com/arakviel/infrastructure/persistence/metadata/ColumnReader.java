@@ -0,0 +1,75 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Читання значення колонки за її порядковим номером типізованим методом ResultSet.
+ * Повертає значення вже у типі поля сутності або null, якщо в базі NULL.
+ */
+@FunctionalInterface
+public interface ColumnReader {
+
+    /**
+     * Читання значення колонки.
+     *
+     * @param rs    результат запиту
+     * @param index порядковий номер колонки (з одиниці)
+     * @return значення у типі поля або null
+     * @throws SQLException якщо виникає помилка при роботі з ResultSet
+     */
+    Object read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * Підбір читача для типу поля сутності.
+     *
+     * @param type      тип поля
+     * @param converter конвертер для типів без окремого методу ResultSet
+     * @return читач колонки
+     */
+    static ColumnReader forType(Class<?> type, ValueConverter converter) {
+        if (type == String.class) {
+            return ResultSet::getString;
+        }
+        if (type == UUID.class) {
+            return (rs, index) -> rs.getObject(index, UUID.class);
+        }
+        if (type == int.class || type == Integer.class) {
+            return (rs, index) -> {
+                int value = rs.getInt(index);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (type == long.class || type == Long.class) {
+            return (rs, index) -> {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return (rs, index) -> {
+                boolean value = rs.getBoolean(index);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return (rs, index) -> {
+                Timestamp value = rs.getTimestamp(index);
+                return value != null ? value.toLocalDateTime() : null;
+            };
+        }
+        if (type.isEnum()) {
+            return (rs, index) -> {
+                String value = rs.getString(index);
+                return value != null ? converter.fromDatabase(value) : null;
+            };
+        }
+        return (rs, index) -> {
+            Object value = rs.getObject(index);
+            return value != null ? converter.fromDatabase(value) : null;
+        };
+    }
+}
@@ -0,0 +1,386 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import com.arakviel.infrastructure.persistence.codegen.EntityCodegenProcessor;
+import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Попередньо обчислена модель сутності: колонки, конвертери та доступ до полів через
+ * {@link java.lang.invoke.VarHandle}. Будується один раз для кожного класу сутності, тому
+ * зіставлення рядків і побудова SQL не використовують рефлексію на кожен запит.
+ *
+ * @param <T> тип сутності
+ */
+public final class EntityMetadata<T> {
+
+    static final String ID_FIELD = "id";
+
+    /**
+     * Маска, що позначає всі колонки без id. Сутності з більш ніж 64 колонками
+     * оновлюються лише повністю.
+     */
+    public static final long ALL_COLUMNS = -1L;
+    private static final int MAX_CACHED_LAYOUTS = 256;
+
+    private static final ClassValue<EntityMetadata<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityMetadata<?> computeValue(Class<?> type) {
+            return new EntityMetadata<>(type);
+        }
+    };
+
+    private final Class<T> entityClass;
+    private final MethodHandle constructor;
+    private final List<ColumnMetadata> columns;
+    private final List<ColumnMetadata> nonIdColumns;
+    private final ColumnMetadata idColumn;
+    private final EntityRowMapper<T> rowMapper;
+    private final EntityParameterBinder<T> parameterBinder;
+    private final ConcurrentMap<String, RowLayout<T>> layouts = new ConcurrentHashMap<>();
+
+    private EntityMetadata(Class<T> entityClass) {
+        this.entityClass = entityClass;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(entityClass, MethodType.methodType(void.class));
+
+            List<ColumnMetadata> allColumns = new ArrayList<>();
+            List<ColumnMetadata> updatableColumns = new ArrayList<>();
+            ColumnMetadata id = null;
+            for (Field field : entityClass.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                ColumnMetadata column = new ColumnMetadata(
+                        allColumns.size(),
+                        field.getName(),
+                        toColumnName(field.getName()),
+                        field.getType(),
+                        lookup.unreflectVarHandle(field),
+                        ValueConverter.forType(field.getType()));
+                allColumns.add(column);
+                if (column.isId()) {
+                    id = column;
+                } else {
+                    updatableColumns.add(column);
+                }
+            }
+            this.columns = Collections.unmodifiableList(allColumns);
+            this.nonIdColumns = Collections.unmodifiableList(updatableColumns);
+            this.idColumn = id;
+            this.rowMapper = loadGenerated(EntityCodegenProcessor.ROW_MAPPER_SUFFIX, EntityRowMapper.class);
+            this.parameterBinder = loadGenerated(EntityCodegenProcessor.PARAMETER_BINDER_SUFFIX, EntityParameterBinder.class);
+        } catch (ReflectiveOperationException e) {
+            throw new EntityMappingException("Не вдалося побудувати метадані для " + entityClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Завантаження згенерованого під час компіляції класу для сутності. Клас використовується лише
+     * тоді, коли його колонки збігаються з колонками метаданих; інакше повертається null і
+     * зіставлення виконується через VarHandle.
+     *
+     * @param suffix   суфікс назви згенерованого класу
+     * @param contract очікуваний інтерфейс
+     * @return екземпляр згенерованого класу або null
+     */
+    private <G> G loadGenerated(String suffix, Class<?> contract) throws ReflectiveOperationException {
+        String className = EntityCodegenProcessor.GENERATED_PACKAGE + "." + entityClass.getSimpleName() + suffix;
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(className, true, entityClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!contract.isAssignableFrom(generatedClass)) {
+            return null;
+        }
+        Object instance = generatedClass.getDeclaredConstructor().newInstance();
+        List<String> generatedColumns = instance instanceof EntityRowMapper<?> mapper
+                ? mapper.columnNames()
+                : ((EntityParameterBinder<?>) instance).columnNames();
+        List<String> expectedColumns = columns.stream().map(ColumnMetadata::columnName).toList();
+        if (!expectedColumns.equals(generatedColumns)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        G generated = (G) instance;
+        return generated;
+    }
+
+    /**
+     * Отримання метаданих для класу сутності. Метадані будуються один раз і кешуються.
+     *
+     * @param entityClass клас сутності
+     * @param <T>         тип сутності
+     * @return метадані сутності
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> entityClass) {
+        return (EntityMetadata<T>) CACHE.get(entityClass);
+    }
+
+    /**
+     * Створення нового екземпляра сутності через конструктор без параметрів.
+     *
+     * @return новий екземпляр сутності
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance() {
+        try {
+            return (T) constructor.invoke();
+        } catch (Throwable e) {
+            throw new EntityMappingException("Помилка створення екземпляра " + entityClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * План зіставлення рядків для SQL-запиту. ResultSetMetaData читаються лише під час першого
+     * виконання запиту, далі план береться з кешу за текстом SQL.
+     *
+     * @param sql       текст SQL-запиту
+     * @param resultSet результат виконання цього запиту
+     * @return план зіставлення рядків
+     * @throws SQLException якщо виникає помилка при читанні метаданих результату
+     */
+    public RowLayout<T> layoutFor(String sql, ResultSet resultSet) throws SQLException {
+        RowLayout<T> layout = layouts.get(sql);
+        if (layout == null) {
+            layout = RowLayout.of(this, resultSet.getMetaData());
+            if (layouts.size() < MAX_CACHED_LAYOUTS) {
+                layouts.putIfAbsent(sql, layout);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * План зіставлення для довільного ResultSet без кешування.
+     *
+     * @param resultSet результат запиту
+     * @return план зіставлення рядків
+     * @throws SQLException якщо виникає помилка при читанні метаданих результату
+     */
+    public RowLayout<T> layoutFor(ResultSet resultSet) throws SQLException {
+        return RowLayout.of(this, resultSet.getMetaData());
+    }
+
+    /**
+     * Витягнення ідентифікатора з сутності.
+     *
+     * @param entity сутність
+     * @return ідентифікатор
+     */
+    public Object getId(Object entity) {
+        if (idColumn == null) {
+            throw new IllegalStateException("Сутність " + entityClass.getSimpleName() + " не має поля id");
+        }
+        return idColumn.get(entity);
+    }
+
+    /**
+     * Витягує значення полів сутності для SQL-запиту в порядку колонок.
+     *
+     * @param entity    сутність
+     * @param includeId чи включати поле id
+     * @return список значень полів
+     */
+    public List<Object> extractValues(T entity, boolean includeId) {
+        List<ColumnMetadata> source = includeId ? columns : nonIdColumns;
+        List<Object> values = new ArrayList<>(source.size() + 1);
+        for (ColumnMetadata column : source) {
+            values.add(column.toDatabase(entity));
+        }
+        return values;
+    }
+
+    /**
+     * Будує SQL-запит для вставки сутності в таблицю.
+     *
+     * @param tableName назва таблиці
+     * @return SQL-запит для вставки
+     */
+    public String buildInsertSql(String tableName) {
+        StringJoiner columnList = new StringJoiner(", ");
+        StringJoiner placeholders = new StringJoiner(", ");
+        for (ColumnMetadata column : columns) {
+            columnList.add(column.columnName());
+            placeholders.add("?");
+        }
+        return String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columnList, placeholders);
+    }
+
+    /**
+     * Будує SQL-запит для оновлення всіх колонок, крім id.
+     *
+     * @param tableName назва таблиці
+     * @return SQL-запит для оновлення
+     */
+    public String buildUpdateSql(String tableName) {
+        StringJoiner setClause = new StringJoiner(", ");
+        for (ColumnMetadata column : nonIdColumns) {
+            setClause.add(column.columnName() + " = ?");
+        }
+        return String.format("UPDATE %s SET %s WHERE id = ?", tableName, setClause);
+    }
+
+    /**
+     * Будує SQL-запит для оновлення лише колонок, позначених у масці. Біт i відповідає
+     * i-й колонці з {@link #nonIdColumns()}.
+     *
+     * @param tableName   назва таблиці
+     * @param columnsMask маска змінених колонок (не нуль)
+     * @return SQL-запит для оновлення
+     */
+    public String buildUpdateSql(String tableName, long columnsMask) {
+        if (columnsMask == ALL_COLUMNS) {
+            return buildUpdateSql(tableName);
+        }
+        StringJoiner setClause = new StringJoiner(", ");
+        for (int i = 0; i < nonIdColumns.size(); i++) {
+            if (i < Long.SIZE && (columnsMask & (1L << i)) != 0) {
+                setClause.add(nonIdColumns.get(i).columnName() + " = ?");
+            }
+        }
+        return String.format("UPDATE %s SET %s WHERE id = ?", tableName, setClause);
+    }
+
+    /**
+     * Поверхнева копія сутності: новий екземпляр з тими самими значеннями полів.
+     *
+     * @param entity сутність
+     * @return копія сутності
+     */
+    public T copy(T entity) {
+        T copy = newInstance();
+        for (ColumnMetadata column : columns) {
+            column.set(copy, column.get(entity));
+        }
+        return copy;
+    }
+
+    /**
+     * Знімок значень колонок без id у форматі бази даних; використовується для
+     * визначення змінених колонок.
+     *
+     * @param entity сутність
+     * @return значення колонок у порядку {@link #nonIdColumns()}
+     */
+    public Object[] snapshot(Object entity) {
+        Object[] values = new Object[nonIdColumns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = nonIdColumns.get(i).toDatabase(entity);
+        }
+        return values;
+    }
+
+    /**
+     * Маска колонок, значення яких відрізняються між двома знімками.
+     *
+     * @param snapshot попередній знімок
+     * @param current  поточний знімок
+     * @return маска змінених колонок: 0, якщо змін немає
+     */
+    public long dirtyMask(Object[] snapshot, Object[] current) {
+        long mask = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (!Objects.deepEquals(snapshot[i], current[i])) {
+                if (i >= Long.SIZE) {
+                    return ALL_COLUMNS;
+                }
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Значення колонок, позначених у масці, у порядку SET-частини часткового UPDATE.
+     *
+     * @param current     поточний знімок
+     * @param columnsMask маска змінених колонок
+     * @return значення параметрів без id
+     */
+    public List<Object> maskedValues(Object[] current, long columnsMask) {
+        List<Object> values = new ArrayList<>(Long.bitCount(columnsMask) + 1);
+        for (int i = 0; i < current.length; i++) {
+            if (columnsMask == ALL_COLUMNS || i < Long.SIZE && (columnsMask & (1L << i)) != 0) {
+                values.add(current[i]);
+            }
+        }
+        return values;
+    }
+
+    public Class<T> entityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Усі колонки сутності в порядку оголошення полів.
+     */
+    public List<ColumnMetadata> columns() {
+        return columns;
+    }
+
+    /**
+     * Колонки сутності без id.
+     */
+    public List<ColumnMetadata> nonIdColumns() {
+        return nonIdColumns;
+    }
+
+    public ColumnMetadata idColumn() {
+        return idColumn;
+    }
+
+    /**
+     * Згенероване зіставлення рядків або null, якщо його немає.
+     */
+    public EntityRowMapper<T> rowMapper() {
+        return rowMapper;
+    }
+
+    /**
+     * Згенерована прив'язка параметрів або null, якщо її немає.
+     */
+    public EntityParameterBinder<T> parameterBinder() {
+        return parameterBinder;
+    }
+
+    /**
+     * Перетворення назви поля camelCase у назву колонки snake_case.
+     *
+     * @param fieldName назва поля
+     * @return назва колонки
+     */
+    static String toColumnName(String fieldName) {
+        StringBuilder result = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char ch = fieldName.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                if (i > 0 && Character.isLowerCase(fieldName.charAt(i - 1))) {
+                    result.append('_');
+                }
+                result.append(Character.toLowerCase(ch));
+            } else {
+                result.append(ch);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Встановлення параметрів INSERT та UPDATE для сутності без рефлексії. Порядок параметрів
+ * відповідає SQL із {@link EntityMetadata#buildInsertSql(String)} та
+ * {@link EntityMetadata#buildUpdateSql(String)}. Реалізації генеруються під час компіляції.
+ *
+ * @param <T> тип сутності
+ */
+public interface EntityParameterBinder<T> {
+
+    /**
+     * Назви колонок у порядку полів сутності, для яких згенеровано прив'язку.
+     */
+    List<String> columnNames();
+
+    /**
+     * Встановлення значень усіх колонок, включно з id, для вставки.
+     *
+     * @param statement підготовлений запит
+     * @param entity    сутність
+     * @throws SQLException якщо виникає помилка при встановленні параметрів
+     */
+    void bindInsert(PreparedStatement statement, T entity) throws SQLException;
+
+    /**
+     * Встановлення значень колонок без id, а потім ідентифікатора для умови WHERE.
+     *
+     * @param statement підготовлений запит
+     * @param entity    сутність з новими даними
+     * @param id        ідентифікатор сутності
+     * @throws SQLException якщо виникає помилка при встановленні параметрів
+     */
+    void bindUpdate(PreparedStatement statement, T entity, Object id) throws SQLException;
+}
@@ -0,0 +1,29 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Зіставлення рядка ResultSet із сутністю без рефлексії. Реалізації генеруються під час
+ * компіляції процесором анотацій для кожного класу з пакету сутностей.
+ *
+ * @param <T> тип сутності
+ */
+public interface EntityRowMapper<T> {
+
+    /**
+     * Назви колонок у порядку полів сутності, для яких згенеровано зіставлення.
+     */
+    List<String> columnNames();
+
+    /**
+     * Зіставлення поточного рядка ResultSet із новою сутністю.
+     *
+     * @param rs       результат запиту, встановлений на рядок
+     * @param ordinals порядкові номери колонок у ResultSet за індексом колонки сутності (0 — колонки немає)
+     * @return зіставлена сутність
+     * @throws SQLException якщо виникає помилка при роботі з ResultSet
+     */
+    T map(ResultSet rs, int[] ordinals) throws SQLException;
+}
@@ -0,0 +1,138 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Проєкція рядка таблиці на record: вибираються лише колонки, що відповідають компонентам
+ * record (назва компонента в camelCase перетворюється на колонку в snake_case), а рядок
+ * зіставляється через канонічний конструктор. Так списки не тягнуть важкі колонки на кшталт
+ * TEXT-описів і не створюють повних сутностей.
+ *
+ * @param <P> тип record-проєкції
+ */
+public final class RecordProjection<P extends Record> {
+
+    private static final ClassValue<RecordProjection<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected RecordProjection<?> computeValue(Class<?> type) {
+            return new RecordProjection<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<P> projectionClass;
+    private final List<String> columnNames;
+    private final ColumnReader[] readers;
+    private final Object[] nullDefaults;
+    private final MethodHandle constructor;
+    private final String selectList;
+
+    private RecordProjection(Class<P> projectionClass) {
+        this.projectionClass = projectionClass;
+        RecordComponent[] components = projectionClass.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        List<String> names = new ArrayList<>(components.length);
+        this.readers = new ColumnReader[components.length];
+        this.nullDefaults = new Object[components.length];
+        StringJoiner select = new StringJoiner(", ");
+        for (int i = 0; i < components.length; i++) {
+            Class<?> type = components[i].getType();
+            String columnName = EntityMetadata.toColumnName(components[i].getName());
+            types[i] = type;
+            names.add(columnName);
+            select.add(columnName);
+            readers[i] = ColumnReader.forType(type, ValueConverter.forType(type));
+            // NULL у примітивному компоненті стає нульовим значенням типу
+            nullDefaults[i] = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.selectList = select.toString();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(projectionClass, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(projectionClass, MethodType.methodType(void.class, types))
+                    .asSpreader(Object[].class, components.length);
+        } catch (ReflectiveOperationException e) {
+            throw new EntityMappingException("Не вдалося побудувати проєкцію " + projectionClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Отримання проєкції для класу record. Проєкція будується один раз і кешується.
+     *
+     * @param projectionClass клас record
+     * @param <P>             тип record
+     * @return проєкція
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends Record> RecordProjection<P> of(Class<P> projectionClass) {
+        if (!projectionClass.isRecord()) {
+            throw new IllegalArgumentException(projectionClass.getSimpleName() + " не є record");
+        }
+        return (RecordProjection<P>) CACHE.get(projectionClass);
+    }
+
+    /**
+     * Колонки проєкції в порядку компонентів record.
+     */
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Перелік колонок для SELECT, наприклад {@code id, title, duration}.
+     *
+     * @return колонки через кому
+     */
+    public String selectList() {
+        return selectList;
+    }
+
+    /**
+     * Перелік колонок для SELECT з префіксом псевдоніма таблиці.
+     *
+     * @param alias псевдонім таблиці в запиті
+     * @return колонки через кому, наприклад {@code a.id, a.title}
+     */
+    public String selectList(String alias) {
+        StringJoiner select = new StringJoiner(", ");
+        for (String columnName : columnNames) {
+            select.add(alias + "." + columnName);
+        }
+        return select.toString();
+    }
+
+    /**
+     * Зіставлення поточного рядка з record. Колонки читаються за порядковими номерами,
+     * тому запит має вибирати їх у порядку {@link #selectList()}.
+     *
+     * @param rs результат запиту, встановлений на рядок
+     * @return record-проєкція
+     */
+    public P map(ResultSet rs) {
+        Object[] values = new Object[readers.length];
+        try {
+            for (int i = 0; i < readers.length; i++) {
+                Object value = readers[i].read(rs, i + 1);
+                values[i] = value != null ? value : nullDefaults[i];
+            }
+        } catch (SQLException e) {
+            throw new EntityMappingException("Помилка зіставлення ResultSet із " + projectionClass.getSimpleName(), e);
+        }
+        try {
+            return projectionClass.cast(constructor.invoke(values));
+        } catch (Throwable e) {
+            throw new EntityMappingException("Помилка створення проєкції " + projectionClass.getSimpleName(), e);
+        }
+    }
+}
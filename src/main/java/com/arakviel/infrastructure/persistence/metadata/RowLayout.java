@@ -0,0 +1,94 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import com.arakviel.infrastructure.persistence.exception.EntityMappingException;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * План зіставлення рядків конкретного запиту з сутністю: для кожного поля сутності відомий
+ * порядковий номер колонки в ResultSet. Будується з ResultSetMetaData один раз на SQL-запит,
+ * після чого рядки читаються типізованими методами за індексом без пошуку колонок за назвою —
+ * згенерованим {@link EntityRowMapper}, якщо він є, або через VarHandle.
+ *
+ * @param <T> тип сутності
+ */
+public final class RowLayout<T> {
+
+    private final EntityMetadata<T> metadata;
+    private final ColumnMetadata[] columns;
+    private final int[] ordinals;
+    private final int[] ordinalsByColumn;
+
+    private RowLayout(EntityMetadata<T> metadata, ColumnMetadata[] columns, int[] ordinals, int[] ordinalsByColumn) {
+        this.metadata = metadata;
+        this.columns = columns;
+        this.ordinals = ordinals;
+        this.ordinalsByColumn = ordinalsByColumn;
+    }
+
+    /**
+     * Побудова плану з метаданих результату запиту. Колонки, яких немає в сутності, ігноруються;
+     * при повторенні назви (наприклад, у JOIN) використовується перша колонка.
+     *
+     * @param metadata   метадані сутності
+     * @param resultMeta метадані результату запиту
+     * @param <T>        тип сутності
+     * @return план зіставлення
+     * @throws SQLException якщо виникає помилка при читанні метаданих
+     */
+    static <T> RowLayout<T> of(EntityMetadata<T> metadata, ResultSetMetaData resultMeta) throws SQLException {
+        Map<String, ColumnMetadata> byName = new HashMap<>();
+        for (ColumnMetadata column : metadata.columns()) {
+            byName.put(column.columnName(), column);
+        }
+
+        List<ColumnMetadata> matched = new ArrayList<>();
+        int[] ordinals = new int[metadata.columns().size()];
+        int[] ordinalsByColumn = new int[metadata.columns().size()];
+        int columnCount = resultMeta.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            String label = resultMeta.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            ColumnMetadata column = byName.remove(label);
+            if (column != null) {
+                ordinals[matched.size()] = i;
+                ordinalsByColumn[column.index()] = i;
+                matched.add(column);
+            }
+        }
+        return new RowLayout<>(metadata, matched.toArray(new ColumnMetadata[0]),
+                Arrays.copyOf(ordinals, matched.size()), ordinalsByColumn);
+    }
+
+    /**
+     * Зіставлення поточного рядка ResultSet із новою сутністю.
+     *
+     * @param rs результат запиту, встановлений на рядок
+     * @return зіставлена сутність
+     */
+    public T map(ResultSet rs) {
+        EntityRowMapper<T> generated = metadata.rowMapper();
+        try {
+            if (generated != null) {
+                return generated.map(rs, ordinalsByColumn);
+            }
+            T entity = metadata.newInstance();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = columns[i].reader().read(rs, ordinals[i]);
+                if (value != null) {
+                    columns[i].set(entity, value);
+                }
+            }
+            return entity;
+        } catch (SQLException e) {
+            throw new EntityMappingException("Помилка зіставлення ResultSet із " + metadata.entityClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Конвертер значень між типом поля сутності та типом, з яким працює JDBC.
+ * Обирається один раз для кожної колонки під час побудови {@link EntityMetadata}.
+ */
+public interface ValueConverter {
+
+    /**
+     * Конвертер, що передає значення без змін.
+     */
+    ValueConverter IDENTITY = new ValueConverter() {
+        @Override
+        public Object fromDatabase(Object value) {
+            return value;
+        }
+
+        @Override
+        public Object toDatabase(Object value) {
+            return value;
+        }
+    };
+
+    /**
+     * Конвертація значення з бази даних у тип поля сутності.
+     *
+     * @param value значення з бази даних (не null)
+     * @return сконвертоване значення
+     */
+    Object fromDatabase(Object value);
+
+    /**
+     * Конвертація значення поля сутності у тип параметра JDBC.
+     *
+     * @param value значення поля (не null)
+     * @return значення для PreparedStatement
+     */
+    Object toDatabase(Object value);
+
+    /**
+     * Підбір конвертера для типу поля сутності.
+     *
+     * @param type тип поля
+     * @return конвертер для цього типу
+     */
+    static ValueConverter forType(Class<?> type) {
+        if (type == String.class) {
+            return new ValueConverter() {
+                @Override
+                public Object fromDatabase(Object value) {
+                    return value.toString();
+                }
+
+                @Override
+                public Object toDatabase(Object value) {
+                    return value;
+                }
+            };
+        }
+        if (type == UUID.class) {
+            return new ValueConverter() {
+                @Override
+                public Object fromDatabase(Object value) {
+                    return value instanceof String s ? UUID.fromString(s) : value;
+                }
+
+                @Override
+                public Object toDatabase(Object value) {
+                    return value;
+                }
+            };
+        }
+        if (type == Integer.class || type == int.class) {
+            return new ValueConverter() {
+                @Override
+                public Object fromDatabase(Object value) {
+                    return value instanceof Number n ? n.intValue() : Integer.parseInt(value.toString());
+                }
+
+                @Override
+                public Object toDatabase(Object value) {
+                    return value;
+                }
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return new ValueConverter() {
+                @Override
+                public Object fromDatabase(Object value) {
+                    if (value instanceof Timestamp timestamp) {
+                        return timestamp.toLocalDateTime();
+                    }
+                    return value instanceof LocalDateTime ? value : null;
+                }
+
+                @Override
+                public Object toDatabase(Object value) {
+                    return Timestamp.valueOf((LocalDateTime) value);
+                }
+            };
+        }
+        if (type.isEnum()) {
+            return new EnumConverter(type);
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * Конвертер для переліків: у базі зберігається назва константи.
+     */
+    final class EnumConverter implements ValueConverter {
+
+        private final Class<?> enumType;
+
+        private EnumConverter(Class<?> enumType) {
+            this.enumType = enumType;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object fromDatabase(Object value) {
+            return value instanceof String s ? Enum.valueOf((Class<? extends Enum>) enumType, s) : value;
+        }
+
+        @Override
+        public Object toDatabase(Object value) {
+            return ((Enum<?>) value).name();
+        }
+    }
+}
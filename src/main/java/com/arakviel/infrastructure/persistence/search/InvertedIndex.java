@@ -0,0 +1,289 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Інвертований індекс для повнотекстового пошуку: для кожного терміна ({@link TextAnalyzer})
+ * зберігається список документів із частотою терміна. Результати ранжуються за BM25:
+ * рідкісні терміни важать більше, повторення терміна дає спадний приріст, а довгі
+ * документи не отримують переваги лише через довжину.
+ * <p>
+ * Останнє слово запиту трактується як префікс, щоб пошук працював під час набору:
+ * «шевч» знаходить «Шевченко». Службові слова в цій позиції не відкидаються: «до» може
+ * бути початком «дороги». Індекс заповнюється одним проходом по таблиці
+ * ({@link #startWarming()}, {@link #warm}); документи, змінені під час заповнення,
+ * повертаються викликачу для повторного читання.
+ *
+ * @param <K> тип ідентифікатора документа
+ */
+public final class InvertedIndex<K> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final String name;
+    private final NavigableMap<String, Map<K, Integer>> postings = new TreeMap<>();
+    private final Map<K, Document> documents = new HashMap<>();
+    private final Set<K> changedWhileWarming = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+    private volatile boolean warm;
+    private boolean warming;
+
+    /**
+     * Конструктор індексу.
+     *
+     * @param name назва для метрик і журналу
+     */
+    public InvertedIndex(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Назва індексу.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Чи заповнено індекс повним проходом по таблиці.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Початок заповнення: з цього моменту зміни документів запам'ятовуються.
+     */
+    public void startWarming() {
+        lock.writeLock().lock();
+        try {
+            warming = true;
+            changedWhileWarming.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Завершення заповнення документами таблиці.
+     *
+     * @param texts тексти документів за ідентифікатором
+     * @return документи, змінені після {@link #startWarming()}; їх треба перечитати
+     */
+    public Set<K> warm(Map<K, String> texts) {
+        lock.writeLock().lock();
+        try {
+            texts.forEach(this::replace);
+            warm = true;
+            warming = false;
+            Set<K> changed = new HashSet<>(changedWhileWarming);
+            changedWhileWarming.clear();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Позначка зміни документів у таблиці.
+     *
+     * @param ids ідентифікатори змінених документів
+     * @return true, якщо індекс заповнено і документи треба переіндексувати зараз;
+     * до заповнення зміни лише запам'ятовуються
+     */
+    public boolean markChanged(Collection<? extends K> ids) {
+        if (warm) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            if (warm) {
+                return true;
+            }
+            if (warming) {
+                changedWhileWarming.addAll(ids);
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Додавання або заміна документа.
+     *
+     * @param id   ідентифікатор документа
+     * @param text текст документа
+     */
+    public void put(K id, String text) {
+        lock.writeLock().lock();
+        try {
+            replace(id, text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Вилучення документа.
+     *
+     * @param id ідентифікатор документа
+     */
+    public void remove(K id) {
+        lock.writeLock().lock();
+        try {
+            replace(id, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Пошук документів, що містять хоча б один термін запиту.
+     *
+     * @param query текст запиту
+     * @return знайдені документи від найрелевантнішого; за однакової оцінки — за ідентифікатором
+     */
+    public List<Hit<K>> search(String query) {
+        List<String> queryTerms = TextAnalyzer.queryTerms(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        String prefixTerm = queryTerms.getLast();
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(queryTerms));
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<K, Double> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean prefix = term.equals(prefixTerm);
+                Map<K, Double> best = new HashMap<>();
+                for (Map.Entry<String, Map<K, Integer>> entry : matching(term, prefix)) {
+                    double idf = idf(entry.getValue().size());
+                    entry.getValue().forEach((id, frequency) ->
+                            best.merge(id, idf * saturation(frequency, documents.get(id).length(), averageLength),
+                                    Math::max));
+                }
+                best.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+            List<Hit<K>> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new Hit<>(id, score)));
+            hits.sort(Comparator.comparingDouble(Hit<K>::score).reversed()
+                    .thenComparing(hit -> hit.id().toString()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість документів в індексі.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повне очищення; наступний пошук знову заповнить індекс.
+     */
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            warming = false;
+            postings.clear();
+            documents.clear();
+            changedWhileWarming.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Map.Entry<String, Map<K, Integer>>> matching(String term, boolean prefix) {
+        if (!prefix) {
+            Map<K, Integer> exact = postings.get(term);
+            return exact == null ? List.of() : List.of(Map.entry(term, exact));
+        }
+        List<Map.Entry<String, Map<K, Integer>>> expanded = new ArrayList<>();
+        for (Map.Entry<String, Map<K, Integer>> entry : postings.tailMap(term, true).entrySet()) {
+            if (!entry.getKey().startsWith(term) || expanded.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expanded.add(entry);
+        }
+        return expanded;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double saturation(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    /**
+     * Заміна термінів документа; text == null вилучає документ.
+     */
+    private void replace(K id, String text) {
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            totalLength -= previous.length();
+            for (String term : previous.terms()) {
+                Map<K, Integer> postingList = postings.get(term);
+                postingList.remove(id);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        List<String> terms = TextAnalyzer.terms(text);
+        if (terms.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+        documents.put(id, new Document(frequencies.keySet().toArray(String[]::new), terms.size()));
+        totalLength += terms.size();
+    }
+
+    /**
+     * Знайдений документ з оцінкою релевантності.
+     *
+     * @param id    ідентифікатор документа
+     * @param score оцінка BM25
+     */
+    public record Hit<K>(K id, double score) {
+    }
+
+    private record Document(String[] terms, int length) {
+    }
+}
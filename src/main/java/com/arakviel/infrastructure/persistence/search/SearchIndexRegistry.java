@@ -0,0 +1,62 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Реєстр пошукових індексів таблиць. Індекс таблиці створюється під час першого звернення
+ * і є спільним для всіх репозиторіїв, що до неї звертаються. Триграмний індекс створюється
+ * лише для таблиць, для яких його ввімкнено в налаштуваннях ({@code search.trigram.<таблиця>.enabled}).
+ */
+public final class SearchIndexRegistry {
+
+    private final Predicate<String> trigramEnabled;
+    private final Map<String, InvertedIndex<?>> textIndexes = new ConcurrentHashMap<>();
+    private final Map<String, TrigramIndex<?>> trigramIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор реєстру.
+     *
+     * @param trigramEnabled чи ввімкнено триграмний індекс для таблиці
+     */
+    public SearchIndexRegistry(Predicate<String> trigramEnabled) {
+        this.trigramEnabled = trigramEnabled;
+    }
+
+    /**
+     * Повнотекстовий індекс таблиці.
+     *
+     * @param tableName назва таблиці
+     * @param <ID>      тип ідентифікатора
+     * @return індекс, спільний для всіх звернень з тією ж таблицею
+     */
+    @SuppressWarnings("unchecked")
+    public <ID> InvertedIndex<ID> textIndex(String tableName) {
+        return (InvertedIndex<ID>) textIndexes.computeIfAbsent(tableName, InvertedIndex::new);
+    }
+
+    /**
+     * Триграмний індекс таблиці.
+     *
+     * @param tableName назва таблиці
+     * @param <ID>      тип ідентифікатора
+     * @return індекс або null, якщо для таблиці його вимкнено
+     */
+    @SuppressWarnings("unchecked")
+    public <ID> TrigramIndex<ID> trigramIndex(String tableName) {
+        if (!trigramEnabled.test(tableName)) {
+            return null;
+        }
+        return (TrigramIndex<ID>) trigramIndexes.computeIfAbsent(tableName, TrigramIndex::new);
+    }
+
+    /**
+     * Очищення всіх індексів, наприклад після зміни даних поза репозиторіями;
+     * наступний пошук заповнить їх знову.
+     */
+    public void resetAll() {
+        textIndexes.values().forEach(InvertedIndex::reset);
+        trigramIndexes.values().forEach(TrigramIndex::reset);
+    }
+}
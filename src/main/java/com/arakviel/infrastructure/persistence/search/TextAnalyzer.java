@@ -0,0 +1,127 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Розбиття тексту на терміни для повнотекстового пошуку з урахуванням української мови:
+ * нормалізація Unicode, переведення в нижній регістр за правилами української локалі,
+ * вилучення апострофів усередині слів (п'ять, пʼять і п’ять дають однаковий термін),
+ * відкидання службових слів і легке відсікання відмінкових закінчень.
+ * <p>
+ * Відсікання закінчень навмисно консервативне: основа має лишатися не коротшою за
+ * {@value #MIN_STEM_LENGTH} символи, тож «пісня» і «пісні» дають «пісн», а короткі слова
+ * не змінюються. Той самий аналізатор застосовується до документів і до запитів.
+ */
+public final class TextAnalyzer {
+
+    private static final Locale UKRAINIAN = Locale.forLanguageTag("uk");
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final String APOSTROPHES = "'’ʼ`‘";
+    private static final Set<String> STOP_WORDS = Set.of(
+            "і", "й", "та", "а", "але", "чи", "або", "в", "у", "на", "з", "із", "зі", "до", "по", "за",
+            "від", "о", "об", "для", "що", "як", "не", "це");
+    // Від довших до коротших: відсікається найдовше закінчення, що підходить.
+    private static final String[] ENDINGS = {
+            "ями", "ами", "ові", "еві", "ого", "ому", "ими", "іми",
+            "ий", "ій", "ої", "ою", "ею", "єю", "ом", "ем", "ах", "ях", "ів", "їв", "ам", "ям", "им", "ім",
+            "а", "я", "о", "е", "є", "у", "ю", "і", "ї", "и", "ь"};
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Терміни тексту в порядку появи (з повторами).
+     *
+     * @param text текст (може бути null)
+     * @return список термінів
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Терміни пошукового запиту. Останнє слово лишається навіть службовим: пошук вважає
+     * його початком слова, яке ще вводиться, тож «до» має знаходити «дорогу».
+     *
+     * @param query текст запиту (може бути null)
+     * @return список термінів; останній відповідає останньому слову запиту
+     */
+    public static List<String> queryTerms(String query) {
+        List<String> words = words(query);
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (i == words.size() - 1 || !STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Нормалізація Unicode і переведення в нижній регістр за правилами української локалі,
+     * без розбиття на слова.
+     *
+     * @param text текст
+     * @return нормалізований текст
+     */
+    static String fold(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(UKRAINIAN);
+    }
+
+    /**
+     * Зведення слова до основи відсіканням відмінкового закінчення.
+     *
+     * @param word слово в нижньому регістрі
+     * @return основа слова
+     */
+    static String stem(String word) {
+        for (String ending : ENDINGS) {
+            if (word.endsWith(ending) && word.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        return word;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        String normalized = fold(text);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            // Апостроф перевіряється першим: ʼ (U+02BC) Java вважає літерою.
+            if (APOSTROPHES.indexOf(c) >= 0) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else {
+                addWord(words, token);
+            }
+        }
+        addWord(words, token);
+        return words;
+    }
+
+    private static void addWord(List<String> words, StringBuilder token) {
+        if (!token.isEmpty()) {
+            words.add(token.toString());
+            token.setLength(0);
+        }
+    }
+}
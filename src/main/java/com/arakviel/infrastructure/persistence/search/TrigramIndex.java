@@ -0,0 +1,422 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграмний індекс коротких рядків (імен, назв) для пошуку підрядка та нечіткого пошуку
+ * з допуском на опечатки без сканування таблиці.
+ * <p>
+ * Кожне значення колонки є окремим записом із цілим порядковим номером; для кожної
+ * триграми зберігається відсортований масив номерів записів, що її містять. Значення
+ * нормалізуються як у {@link TextAnalyzer} і доповнюються пробілами («  шевченко »),
+ * тож кожен підрядок довжиною від трьох символів дає лише наявні в записі триграми:
+ * пошук підрядка перетинає їх списки, а кандидати перевіряються точним входженням.
+ * Схожість рахується як у pg_trgm: частка спільних триграм серед усіх триграм обох рядків.
+ * <p>
+ * Заповнення та відстеження змін під час нього влаштовані так само, як в {@link InvertedIndex}.
+ *
+ * @param <K> тип ідентифікатора документа
+ */
+public final class TrigramIndex<K> {
+
+    private static final int[] NO_ENTRIES = new int[0];
+
+    private final String name;
+    private final Map<String, Integer> trigramIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final List<Entry<K>> entries = new ArrayList<>();
+    private final Map<K, int[]> documents = new HashMap<>();
+    private final Set<K> changedWhileWarming = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] freeEntries = new int[16];
+    private int freeCount;
+    private volatile boolean warm;
+    private boolean warming;
+
+    /**
+     * Конструктор індексу.
+     *
+     * @param name назва для метрик і журналу
+     */
+    public TrigramIndex(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Назва індексу.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Чи заповнено індекс повним проходом по таблиці.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Початок заповнення: з цього моменту зміни документів запам'ятовуються.
+     */
+    public void startWarming() {
+        lock.writeLock().lock();
+        try {
+            warming = true;
+            changedWhileWarming.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Завершення заповнення документами таблиці.
+     *
+     * @param values значення колонок документів за ідентифікатором
+     * @return документи, змінені після {@link #startWarming()}; їх треба перечитати
+     */
+    public Set<K> warm(Map<K, List<String>> values) {
+        lock.writeLock().lock();
+        try {
+            values.forEach(this::replace);
+            warm = true;
+            warming = false;
+            Set<K> changed = new HashSet<>(changedWhileWarming);
+            changedWhileWarming.clear();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Позначка зміни документів у таблиці.
+     *
+     * @param ids ідентифікатори змінених документів
+     * @return true, якщо індекс заповнено і документи треба переіндексувати зараз;
+     * до заповнення зміни лише запам'ятовуються
+     */
+    public boolean markChanged(Collection<? extends K> ids) {
+        if (warm) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            if (warm) {
+                return true;
+            }
+            if (warming) {
+                changedWhileWarming.addAll(ids);
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Додавання або заміна документа.
+     *
+     * @param id     ідентифікатор документа
+     * @param values значення колонок документа (null пропускаються)
+     */
+    public void put(K id, List<String> values) {
+        lock.writeLock().lock();
+        try {
+            replace(id, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Вилучення документа.
+     *
+     * @param id ідентифікатор документа
+     */
+    public void remove(K id) {
+        lock.writeLock().lock();
+        try {
+            replace(id, List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Пошук документів, хоча б одне значення яких містить підрядок без урахування регістру.
+     * Підрядки коротші за триграму перевіряються перебором значень у пам'яті.
+     *
+     * @param fragment підрядок
+     * @return ідентифікатори знайдених документів
+     */
+    public List<K> containing(String fragment) {
+        String folded = TextAnalyzer.fold(fragment);
+        lock.readLock().lock();
+        try {
+            Set<K> found = new LinkedHashSet<>();
+            for (int entry : candidates(folded)) {
+                Entry<K> candidate = entries.get(entry);
+                if (candidate != null && candidate.value().contains(folded)) {
+                    found.add(candidate.owner());
+                }
+            }
+            return new ArrayList<>(found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Нечіткий пошук документів, хоча б одне значення яких схоже на запит.
+     *
+     * @param query     рядок запиту
+     * @param threshold мінімальна схожість у межах (0, 1]
+     * @return знайдені документи від найсхожішого; за однакової схожості — за ідентифікатором
+     * @throws IllegalArgumentException якщо поріг поза межами (0, 1]
+     */
+    public List<Hit<K>> similar(String query, double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Поріг схожості має бути в межах (0, 1]");
+        }
+        Set<String> trigrams = trigrams(TextAnalyzer.fold(query));
+        if (trigrams.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Кількість спільних з запитом триграм для кожного запису, що має хоча б одну.
+            int[] shared = new int[entries.size()];
+            int[] touched = new int[entries.size()];
+            int touchedCount = 0;
+            for (String trigram : trigrams) {
+                Integer trigramId = trigramIds.get(trigram);
+                if (trigramId == null) {
+                    continue;
+                }
+                PostingList postingList = postings.get(trigramId);
+                for (int i = 0; i < postingList.size; i++) {
+                    int entry = postingList.entries[i];
+                    if (shared[entry]++ == 0) {
+                        touched[touchedCount++] = entry;
+                    }
+                }
+            }
+            Map<K, Double> best = new HashMap<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int entry = touched[i];
+                Entry<K> candidate = entries.get(entry);
+                double similarity = (double) shared[entry]
+                        / (trigrams.size() + candidate.trigrams().length - shared[entry]);
+                if (similarity >= threshold) {
+                    best.merge(candidate.owner(), similarity, Math::max);
+                }
+            }
+            List<Hit<K>> hits = new ArrayList<>(best.size());
+            best.forEach((id, similarity) -> hits.add(new Hit<>(id, similarity)));
+            hits.sort(Comparator.comparingDouble(Hit<K>::similarity).reversed()
+                    .thenComparing(hit -> hit.id().toString()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість документів в індексі.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повне очищення; наступний пошук знову заповнить індекс.
+     */
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            warming = false;
+            trigramIds.clear();
+            postings.clear();
+            entries.clear();
+            documents.clear();
+            changedWhileWarming.clear();
+            freeCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Записи, що можуть містити підрядок: перетин списків його триграм, починаючи з
+     * найкоротшого, або всі записи для підрядка, коротшого за триграму.
+     */
+    private int[] candidates(String fragment) {
+        if (fragment.length() < 3) {
+            int[] all = new int[entries.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= fragment.length(); i++) {
+            Integer trigramId = trigramIds.get(fragment.substring(i, i + 3));
+            if (trigramId == null) {
+                return NO_ENTRIES;
+            }
+            lists.add(postings.get(trigramId));
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        PostingList smallest = lists.getFirst();
+        int[] result = Arrays.copyOf(smallest.entries, smallest.size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            PostingList other = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.indexOf(result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Заміна значень документа; порожній список вилучає документ.
+     */
+    private void replace(K id, List<String> values) {
+        int[] previous = documents.remove(id);
+        if (previous != null) {
+            for (int entry : previous) {
+                for (int trigramId : entries.get(entry).trigrams()) {
+                    postings.get(trigramId).remove(entry);
+                }
+                entries.set(entry, null);
+                releaseEntry(entry);
+            }
+        }
+        int[] added = new int[values.size()];
+        int addedCount = 0;
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String folded = TextAnalyzer.fold(value);
+            Set<String> trigrams = trigrams(folded);
+            int[] trigramIdsOfEntry = new int[trigrams.size()];
+            int entry = allocateEntry();
+            int i = 0;
+            for (String trigram : trigrams) {
+                int trigramId = trigramIds.computeIfAbsent(trigram, key -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                });
+                postings.get(trigramId).add(entry);
+                trigramIdsOfEntry[i++] = trigramId;
+            }
+            entries.set(entry, new Entry<>(id, folded, trigramIdsOfEntry));
+            added[addedCount++] = entry;
+        }
+        if (addedCount > 0) {
+            documents.put(id, Arrays.copyOf(added, addedCount));
+        }
+    }
+
+    private int allocateEntry() {
+        if (freeCount > 0) {
+            return freeEntries[--freeCount];
+        }
+        entries.add(null);
+        return entries.size() - 1;
+    }
+
+    private void releaseEntry(int entry) {
+        if (freeCount == freeEntries.length) {
+            freeEntries = Arrays.copyOf(freeEntries, freeCount * 2);
+        }
+        freeEntries[freeCount++] = entry;
+    }
+
+    /**
+     * Триграми нормалізованого рядка, доповненого двома пробілами спереду й одним ззаду.
+     */
+    private static Set<String> trigrams(String folded) {
+        if (folded.isBlank()) {
+            return Set.of();
+        }
+        String padded = "  " + folded + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Знайдений документ зі схожістю до запиту.
+     *
+     * @param id         ідентифікатор документа
+     * @param similarity частка спільних триграм у межах (0, 1]
+     */
+    public record Hit<K>(K id, double similarity) {
+    }
+
+    private record Entry<K>(K owner, String value, int[] trigrams) {
+    }
+
+    /**
+     * Відсортований масив номерів записів, що містять триграму.
+     */
+    private static final class PostingList {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        private void add(int entry) {
+            int position = Arrays.binarySearch(entries, 0, size, entry);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            System.arraycopy(entries, position, entries, position + 1, size - position);
+            entries[position] = entry;
+            size++;
+        }
+
+        private void remove(int entry) {
+            int position = indexOf(entry);
+            if (position >= 0) {
+                System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+                size--;
+            }
+        }
+
+        private int indexOf(int entry) {
+            int position = Arrays.binarySearch(entries, 0, size, entry);
+            return position >= 0 ? position : -1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookDetails;
+import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import com.arakviel.infrastructure.persistence.contract.GenreRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Завантаження авторів і жанрів для списку аудіокниг. Замість findById на кожну
+ * аудіокнигу (N+1 запитів) виконується два пакетні запити на весь список.
+ */
+@Component
+public class AudiobookRelationLoader {
+
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+
+    /**
+     * Конструктор завантажувача.
+     *
+     * @param authorRepository репозиторій авторів
+     * @param genreRepository  репозиторій жанрів
+     */
+    public AudiobookRelationLoader(AuthorRepository authorRepository, GenreRepository genreRepository) {
+        this.authorRepository = authorRepository;
+        this.genreRepository = genreRepository;
+    }
+
+    /**
+     * Доповнення аудіокниг їхніми авторами та жанрами.
+     *
+     * @param audiobooks аудіокниги
+     * @return аудіокниги з авторами та жанрами в тому ж порядку
+     */
+    public List<AudiobookDetails> load(List<Audiobook> audiobooks) {
+        List<UUID> authorIds = new ArrayList<>(audiobooks.size());
+        List<UUID> genreIds = new ArrayList<>(audiobooks.size());
+        for (Audiobook audiobook : audiobooks) {
+            authorIds.add(audiobook.getAuthorId());
+            genreIds.add(audiobook.getGenreId());
+        }
+        Map<UUID, Author> authors = authorRepository.findAllByIds(authorIds);
+        Map<UUID, Genre> genres = genreRepository.findAllByIds(genreIds);
+
+        List<AudiobookDetails> details = new ArrayList<>(audiobooks.size());
+        for (Audiobook audiobook : audiobooks) {
+            details.add(new AudiobookDetails(audiobook,
+                    audiobook.getAuthorId() != null ? authors.get(audiobook.getAuthorId()) : null,
+                    audiobook.getGenreId() != null ? genres.get(audiobook.getGenreId()) : null));
+        }
+        return details;
+    }
+}
@@ -1,90 +1,462 @@
 package com.arakviel.infrastructure.persistence.util;
 
+import com.arakviel.infrastructure.persistence.exception.ConnectionTimeoutException;
+import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Properties;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 
 /**
  * Пул з'єднань для управління JDBC-з'єднаннями з H2 базою даних.
  * Використовує Proxy для перевизначення close, повертаючи з'єднання в пул.
+ * Для кожного фізичного з'єднання підтримується кеш PreparedStatement (див. {@link StatementCache}).
+ * <p>
+ * Пул еластичний: під час старту відкривається лише minIdle з'єднань, нові створюються за потреби,
+ * але не більше maxConnections. Фоновий потік закриває з'єднання, що простоюють довше за idleTimeout
+ * (не опускаючись нижче minIdle), та з'єднання, що прожили довше за maxLifetime.
+ * Якщо вільного з'єднання немає протягом connectionTimeout, викидається {@link ConnectionTimeoutException}.
+ * Стан пулу доступний через {@link #metrics()}. {@link #close()} зупиняє фоновий потік і закриває
+ * всі з'єднання; після цього пул не видає нових з'єднань.
+ * <p>
+ * Якщо задано поріг виявлення витоків, з'єднання, утримане довше за поріг, записується в журнал
+ * разом зі стеком місця отримання. Стек збирається лише для кожного N-го отримання (вибірка),
+ * щоб перевірку можна було тримати увімкненою в робочому середовищі.
  */
-public class ConnectionPool {
-    private final BlockingQueue<Connection> availableConnections;
+public class ConnectionPool implements AutoCloseable {
+    private static final long RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final System.Logger LOGGER = System.getLogger(ConnectionPool.class.getName());
+
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> allConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicLong borrowCounter = new AtomicLong();
+    private final Semaphore permits;
     private final String url;
     private final String user;
     private final String password;
     private final int maxConnections;
+    private final int minIdle;
     private final boolean autoCommit;
-    private final AtomicBoolean isInitialized = new AtomicBoolean(false);
+    private final int statementCacheSize;
+    private final Duration connectionTimeout;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long leakDetectionThresholdNanos;
+    private final int leakDetectionSampleRate;
+    private final ScheduledExecutorService housekeeper;
+    private final PoolMetrics metrics = new PoolMetrics();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+    private volatile boolean closed;
 
     public ConnectionPool(PoolConfig config) {
         this.url = config.url;
         this.user = config.user;
         this.password = config.password;
         this.maxConnections = config.maxConnections;
+        this.minIdle = config.minIdle;
         this.autoCommit = config.autoCommit;
-        this.availableConnections = new ArrayBlockingQueue<>(maxConnections);
-        initializePool();
+        this.statementCacheSize = config.statementCacheSize;
+        this.connectionTimeout = config.connectionTimeout;
+        this.idleTimeoutNanos = config.idleTimeout.toNanos();
+        this.maxLifetimeNanos = config.maxLifetime.toNanos();
+        this.leakDetectionThresholdNanos = config.leakDetectionThreshold.toNanos();
+        this.leakDetectionSampleRate = config.leakDetectionSampleRate;
+        this.permits = new Semaphore(maxConnections, true);
+        try {
+            fillToMinIdle();
+        } catch (DatabaseAccessException e) {
+            throw new RuntimeException("Помилка ініціалізації пулу з'єднань", e);
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.housekeepingInterval.toMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        if (leakDetectionThresholdNanos > 0) {
+            long leakCheckInterval = Math.max(50, config.leakDetectionThreshold.toMillis() / 2);
+            housekeeper.scheduleWithFixedDelay(this::detectLeaks,
+                    leakCheckInterval, leakCheckInterval, TimeUnit.MILLISECONDS);
+        }
+        long metricsInterval = config.metricsLogInterval.toMillis();
+        if (metricsInterval > 0) {
+            housekeeper.scheduleAtFixedRate(() -> metrics.log(LOGGER),
+                    metricsInterval, metricsInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Отримання з'єднання з очікуванням не довше за налаштований connectionTimeout.
+     *
+     * @return з'єднання, чий close() повертає його в пул
+     * @throws ConnectionTimeoutException якщо з'єднання не звільнилося вчасно
+     */
+    public Connection getConnection() {
+        return getConnection(connectionTimeout);
+    }
+
+    /**
+     * Отримання з'єднання з обмеженим часом очікування.
+     *
+     * @param timeout максимальний час очікування
+     * @return з'єднання, чий close() повертає його в пул
+     * @throws ConnectionTimeoutException якщо з'єднання не звільнилося вчасно
+     * @throws DatabaseAccessException    якщо пул закрито
+     */
+    public Connection getConnection(Duration timeout) {
+        if (closed) {
+            throw new DatabaseAccessException("Пул з'єднань закрито");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        metrics.waitStarted();
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                metrics.acquisitionTimedOut(System.nanoTime() - start);
+                throw timeoutException(timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseAccessException("Перервано очікування з'єднання", e);
+        } finally {
+            metrics.waitFinished();
+        }
+
+        try {
+            PooledConnection pooled = acquire(deadline, timeout);
+            long now = System.nanoTime();
+            pooled.borrowedAt = now;
+            pooled.leakReported = false;
+            pooled.borrowSite = captureBorrowSite();
+            pooled.inUse.set(true);
+            metrics.connectionAcquired(now - start);
+            return pooled.proxy;
+        } catch (ConnectionTimeoutException e) {
+            metrics.acquisitionTimedOut(System.nanoTime() - start);
+            permits.release();
+            throw e;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
     }
 
-    private void initializePool() {
-        if (isInitialized.compareAndSet(false, true)) {
-            for (int i = 0; i < maxConnections; i++) {
+    /**
+     * Метрики пулу: активні та вільні з'єднання, очікування, гістограми часу.
+     *
+     * @return метрики цього пулу
+     */
+    public PoolMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Статистика кешів PreparedStatement усіх з'єднань пулу.
+     *
+     * @return кількість влучань, промахів і витіснень
+     */
+    public StatementCacheStats statementCacheStats() {
+        return new StatementCacheStats(statementCacheHits.sum(), statementCacheMisses.sum(),
+                statementCacheEvictions.sum());
+    }
+
+    /**
+     * Закриття всіх вільних з'єднань. З'єднання, які зараз використовуються, закриваються під час
+     * повернення. Пул після цього лишається придатним і за потреби відкриває нові з'єднання.
+     */
+    public void evictIdle() {
+        generation.incrementAndGet();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Остаточне закриття пулу: фоновий потік зупиняється, вільні з'єднання закриваються одразу,
+     * а видані — під час повернення. Повторний виклик нічого не робить.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        evictIdle();
+    }
+
+    private PooledConnection acquire(long deadline, Duration timeout) {
+        while (true) {
+            PooledConnection pooled = idleConnections.pollFirst();
+            if (pooled == null) {
+                if (tryReserveSlot()) {
+                    return createConnection();
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw timeoutException(timeout);
+                }
                 try {
-                    availableConnections.add(createProxyConnection());
-                } catch (SQLException e) {
-                    throw new RuntimeException("Помилка ініціалізації пулу з'єднань", e);
+                    // Слот може звільнитися без повернення з'єднання в чергу, тому чекаємо короткими кроками.
+                    pooled = idleConnections.pollFirst(Math.min(remaining, RETRY_NANOS), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DatabaseAccessException("Перервано очікування з'єднання", e);
+                }
+                if (pooled == null) {
+                    continue;
                 }
             }
+            if (isUsable(pooled, System.nanoTime())) {
+                return pooled;
+            }
+            destroy(pooled);
         }
     }
 
-    private Connection createProxyConnection() throws SQLException {
-        Connection connection = DriverManager.getConnection(url, user, password);
-        connection.setAutoCommit(autoCommit);
-        return (Connection) Proxy.newProxyInstance(
-                ConnectionPool.class.getClassLoader(),
-                new Class[]{Connection.class},
-                (proxy, method, args) -> {
-                    if ("close".equals(method.getName())) {
-                        availableConnections.offer((Connection) proxy);
-                        return null;
-                    }
-                    return method.invoke(connection, args);
-                });
+    private void release(PooledConnection pooled) {
+        if (!pooled.inUse.compareAndSet(true, false)) {
+            return; // Повторний close() нічого не робить
+        }
+        long now = System.nanoTime();
+        metrics.connectionReleased(now - pooled.borrowedAt);
+        if (pooled.leakReported) {
+            LOGGER.log(System.Logger.Level.INFO, String.format(
+                    "З'єднання, позначене як можливий витік, повернуто в пул через %d мс",
+                    TimeUnit.NANOSECONDS.toMillis(now - pooled.borrowedAt)));
+        }
+        pooled.borrowSite = null;
+        if (isUsable(pooled, now) && resetState(pooled)) {
+            pooled.lastUsedAt = now;
+            idleConnections.offerFirst(pooled);
+        } else {
+            destroy(pooled);
+        }
+        permits.release();
     }
 
-    public Connection getConnection() {
+    private boolean isUsable(PooledConnection pooled, long now) {
+        if (pooled.generation != generation.get()) {
+            return false;
+        }
+        if (maxLifetimeNanos > 0 && now - pooled.createdAt >= maxLifetimeNanos) {
+            return false;
+        }
         try {
-            Connection connection = availableConnections.take();
-            if (connection.isClosed()) {
-                connection = createProxyConnection();
+            return !pooled.physical.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Повернення режиму автокоміту до налаштованого: незавершена транзакція відкочується,
+     * щоб наступний викликач не отримав чужих змін.
+     */
+    private boolean resetState(PooledConnection pooled) {
+        try {
+            if (pooled.physical.getAutoCommit() != autoCommit) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(autoCommit);
             }
-            return connection;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Перервано очікування з'єднання", e);
+            return true;
         } catch (SQLException e) {
-            throw new RuntimeException("Помилка отримання з'єднання", e);
+            return false;
         }
     }
 
-    public void shutdown() {
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
         try {
-            for (Connection connection : availableConnections) {
-                if (!connection.isClosed()) {
-                    connection.unwrap(Connection.class).close();
+            long now = System.nanoTime();
+            for (PooledConnection pooled : idleConnections) {
+                boolean idleTooLong = idleTimeoutNanos > 0
+                        && now - pooled.lastUsedAt >= idleTimeoutNanos
+                        && idleConnections.size() > minIdle;
+                if ((idleTooLong || !isUsable(pooled, now)) && idleConnections.removeFirstOccurrence(pooled)) {
+                    destroy(pooled);
                 }
             }
-            availableConnections.clear();
-            isInitialized.set(false);
+            fillToMinIdle();
+        } catch (RuntimeException e) {
+            // Наступний запуск спробує ще раз; помилка не має зупиняти фоновий потік.
+            LOGGER.log(System.Logger.Level.WARNING, "Помилка фонового обслуговування пулу з'єднань", e);
+        }
+    }
+
+    private Throwable captureBorrowSite() {
+        if (leakDetectionThresholdNanos <= 0) {
+            return null;
+        }
+        if (borrowCounter.incrementAndGet() % leakDetectionSampleRate != 0) {
+            return null;
+        }
+        return new Throwable("Місце отримання з'єднання");
+    }
+
+    private void detectLeaks() {
+        long now = System.nanoTime();
+        for (PooledConnection pooled : allConnections) {
+            if (!pooled.inUse.get() || pooled.leakReported) {
+                continue;
+            }
+            long heldNanos = now - pooled.borrowedAt;
+            if (heldNanos < leakDetectionThresholdNanos) {
+                continue;
+            }
+            pooled.leakReported = true;
+            metrics.leakDetected();
+            String message = String.format("Можливий витік з'єднання: утримується %d мс (поріг %d мс)",
+                    TimeUnit.NANOSECONDS.toMillis(heldNanos), TimeUnit.NANOSECONDS.toMillis(leakDetectionThresholdNanos));
+            Throwable borrowSite = pooled.borrowSite;
+            if (borrowSite != null) {
+                LOGGER.log(System.Logger.Level.WARNING, message, borrowSite);
+            } else {
+                LOGGER.log(System.Logger.Level.WARNING, message + "; стек місця отримання не зібрано (вибірка)");
+            }
+        }
+    }
+
+    private void fillToMinIdle() {
+        while (!closed && idleConnections.size() < minIdle && tryReserveSlot()) {
+            PooledConnection pooled = createConnection();
+            if (closed) {
+                // Пул закрили, поки з'єднання відкривалося.
+                destroy(pooled);
+                return;
+            }
+            idleConnections.offerLast(pooled);
+        }
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int total = totalConnections.get();
+            if (total >= maxConnections) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection createConnection() {
+        try {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            connection.setAutoCommit(autoCommit);
+            StatementCache statementCache = statementCacheSize > 0
+                    ? new StatementCache(connection, statementCacheSize,
+                            statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                    : null;
+            PooledConnection pooled = new PooledConnection(connection, statementCache, generation.get());
+            pooled.proxy = createProxyConnection(pooled);
+            allConnections.add(pooled);
+            metrics.connectionCreated();
+            return pooled;
         } catch (SQLException e) {
-            throw new RuntimeException("Помилка закриття пулу з'єднань", e);
+            totalConnections.decrementAndGet();
+            metrics.creationFailed();
+            throw new DatabaseAccessException("Помилка створення з'єднання з базою даних", e);
+        }
+    }
+
+    private Connection createProxyConnection(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            release(pooled);
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return !pooled.inUse.get() || pooled.physical.isClosed();
+                        }
+                        default -> {
+                            if (pooled.statementCache != null && isPlainPrepare(method)) {
+                                return pooled.statementCache.prepare((String) args[0], (Connection) proxy);
+                            }
+                            return StatementCache.invoke(method, pooled.physical, args);
+                        }
+                    }
+                });
+    }
+
+    private static boolean isPlainPrepare(Method method) {
+        return "prepareStatement".equals(method.getName())
+                && method.getParameterCount() == 1
+                && method.getReturnType() == PreparedStatement.class;
+    }
+
+    private void destroy(PooledConnection pooled) {
+        if (!allConnections.remove(pooled)) {
+            return;
+        }
+        totalConnections.decrementAndGet();
+        metrics.connectionClosed();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // З'єднання вже виведено з пулу, помилку закриття можна пропустити.
+        }
+    }
+
+    private ConnectionTimeoutException timeoutException(Duration timeout) {
+        return new ConnectionTimeoutException(String.format(
+                "Не вдалося отримати з'єднання за %d мс (усього з'єднань: %d, максимум: %d)",
+                timeout.toMillis(), totalConnections.get(), maxConnections));
+    }
+
+    /**
+     * Фізичне з'єднання пулу разом зі станом, потрібним для повторного використання.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private final int generation;
+        private final long createdAt = System.nanoTime();
+        private final AtomicBoolean inUse = new AtomicBoolean(false);
+        private volatile long lastUsedAt = createdAt;
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile Throwable borrowSite;
+        private Connection proxy;
+
+        private PooledConnection(Connection physical, StatementCache statementCache, int generation) {
+            this.physical = physical;
+            this.statementCache = statementCache;
+            this.generation = generation;
         }
     }
 
@@ -93,38 +465,98 @@ public class ConnectionPool {
         private static final String DEFAULT_USER = "sa";
         private static final String DEFAULT_PASSWORD = "";
         private static final int DEFAULT_MAX_CONNECTIONS = 5;
+        private static final int DEFAULT_MIN_IDLE = 1;
         private static final boolean DEFAULT_AUTO_COMMIT = true;
+        private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+        private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 30_000;
+        private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000;
+        private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000;
+        private static final long DEFAULT_HOUSEKEEPING_INTERVAL_MS = 30_000;
+        private static final long DEFAULT_METRICS_LOG_INTERVAL_MS = 0;
+        private static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MS = 0;
+        private static final int DEFAULT_LEAK_DETECTION_SAMPLE_RATE = 16;
 
         private final String url;
         private final String user;
         private final String password;
         private final int maxConnections;
+        private final int minIdle;
         private final boolean autoCommit;
+        private final int statementCacheSize;
+        private final Duration connectionTimeout;
+        private final Duration idleTimeout;
+        private final Duration maxLifetime;
+        private final Duration housekeepingInterval;
+        private final Duration metricsLogInterval;
+        private final Duration leakDetectionThreshold;
+        private final int leakDetectionSampleRate;
 
         private PoolConfig(Builder builder) {
             this.url = builder.url;
             this.user = builder.user;
             this.password = builder.password;
             this.maxConnections = builder.maxConnections;
+            this.minIdle = Math.min(builder.minIdle, builder.maxConnections);
             this.autoCommit = builder.autoCommit;
+            this.statementCacheSize = builder.statementCacheSize;
+            this.connectionTimeout = builder.connectionTimeout;
+            this.idleTimeout = builder.idleTimeout;
+            this.maxLifetime = builder.maxLifetime;
+            this.housekeepingInterval = builder.housekeepingInterval;
+            this.metricsLogInterval = builder.metricsLogInterval;
+            this.leakDetectionThreshold = builder.leakDetectionThreshold;
+            this.leakDetectionSampleRate = builder.leakDetectionSampleRate;
         }
 
-        public static PoolConfig fromProperties(Properties properties) {
+        /**
+         * Налаштування пулу з ключів {@code db.*}; відсутні ключі отримують значення за замовчуванням.
+         *
+         * @param properties пошук значення за ключем (null, якщо ключа немає)
+         * @return налаштування пулу
+         */
+        public static PoolConfig fromProperties(UnaryOperator<String> properties) {
             return new Builder()
-                    .withUrl(properties.getProperty("db.url", DEFAULT_URL))
-                    .withUser(properties.getProperty("db.username", DEFAULT_USER))
-                    .withPassword(properties.getProperty("db.password", DEFAULT_PASSWORD))
-                    .withMaxConnections(Integer.parseInt(properties.getProperty("db.pool.size", String.valueOf(DEFAULT_MAX_CONNECTIONS))))
-                    .withAutoCommit(Boolean.parseBoolean(properties.getProperty("db.auto.commit", String.valueOf(DEFAULT_AUTO_COMMIT))))
+                    .withUrl(value(properties, "db.url", DEFAULT_URL))
+                    .withUser(value(properties, "db.username", DEFAULT_USER))
+                    .withPassword(value(properties, "db.password", DEFAULT_PASSWORD))
+                    .withMaxConnections(Integer.parseInt(value(properties, "db.pool.size", String.valueOf(DEFAULT_MAX_CONNECTIONS))))
+                    .withMinIdle(Integer.parseInt(value(properties, "db.pool.min.idle", String.valueOf(DEFAULT_MIN_IDLE))))
+                    .withAutoCommit(Boolean.parseBoolean(value(properties, "db.auto.commit", String.valueOf(DEFAULT_AUTO_COMMIT))))
+                    .withStatementCacheSize(Integer.parseInt(value(properties, "db.pool.statement.cache.size", String.valueOf(DEFAULT_STATEMENT_CACHE_SIZE))))
+                    .withConnectionTimeout(millis(properties, "db.pool.connection.timeout.ms", DEFAULT_CONNECTION_TIMEOUT_MS))
+                    .withIdleTimeout(millis(properties, "db.pool.idle.timeout.ms", DEFAULT_IDLE_TIMEOUT_MS))
+                    .withMaxLifetime(millis(properties, "db.pool.max.lifetime.ms", DEFAULT_MAX_LIFETIME_MS))
+                    .withHousekeepingInterval(millis(properties, "db.pool.housekeeping.interval.ms", DEFAULT_HOUSEKEEPING_INTERVAL_MS))
+                    .withMetricsLogInterval(millis(properties, "db.pool.metrics.log.interval.ms", DEFAULT_METRICS_LOG_INTERVAL_MS))
+                    .withLeakDetectionThreshold(millis(properties, "db.pool.leak.detection.threshold.ms", DEFAULT_LEAK_DETECTION_THRESHOLD_MS))
+                    .withLeakDetectionSampleRate(Integer.parseInt(value(properties, "db.pool.leak.detection.sample.rate", String.valueOf(DEFAULT_LEAK_DETECTION_SAMPLE_RATE))))
                     .build();
         }
 
+        private static String value(UnaryOperator<String> properties, String key, String defaultValue) {
+            String value = properties.apply(key);
+            return value != null ? value : defaultValue;
+        }
+
+        private static Duration millis(UnaryOperator<String> properties, String key, long defaultValue) {
+            return Duration.ofMillis(Long.parseLong(value(properties, key, String.valueOf(defaultValue))));
+        }
+
         public static class Builder {
             private String url = DEFAULT_URL;
             private String user = DEFAULT_USER;
             private String password = DEFAULT_PASSWORD;
             private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+            private int minIdle = DEFAULT_MIN_IDLE;
             private boolean autoCommit = DEFAULT_AUTO_COMMIT;
+            private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+            private Duration connectionTimeout = Duration.ofMillis(DEFAULT_CONNECTION_TIMEOUT_MS);
+            private Duration idleTimeout = Duration.ofMillis(DEFAULT_IDLE_TIMEOUT_MS);
+            private Duration maxLifetime = Duration.ofMillis(DEFAULT_MAX_LIFETIME_MS);
+            private Duration housekeepingInterval = Duration.ofMillis(DEFAULT_HOUSEKEEPING_INTERVAL_MS);
+            private Duration metricsLogInterval = Duration.ofMillis(DEFAULT_METRICS_LOG_INTERVAL_MS);
+            private Duration leakDetectionThreshold = Duration.ofMillis(DEFAULT_LEAK_DETECTION_THRESHOLD_MS);
+            private int leakDetectionSampleRate = DEFAULT_LEAK_DETECTION_SAMPLE_RATE;
 
             public Builder withUrl(String url) {
                 this.url = url;
@@ -146,14 +578,97 @@ public class ConnectionPool {
                 return this;
             }
 
+            /**
+             * Кількість з'єднань, які пул тримає відкритими навіть без навантаження.
+             */
+            public Builder withMinIdle(int minIdle) {
+                this.minIdle = Math.max(0, minIdle);
+                return this;
+            }
+
             public Builder withAutoCommit(boolean autoCommit) {
                 this.autoCommit = autoCommit;
                 return this;
             }
 
+            /**
+             * Кількість закешованих PreparedStatement на одне з'єднання; 0 вимикає кеш.
+             */
+            public Builder withStatementCacheSize(int statementCacheSize) {
+                this.statementCacheSize = Math.max(0, statementCacheSize);
+                return this;
+            }
+
+            /**
+             * Максимальний час очікування вільного з'єднання в {@link ConnectionPool#getConnection()}.
+             */
+            public Builder withConnectionTimeout(Duration connectionTimeout) {
+                this.connectionTimeout = connectionTimeout;
+                return this;
+            }
+
+            /**
+             * Час простою, після якого зайве з'єднання закривається; 0 вимикає витіснення.
+             */
+            public Builder withIdleTimeout(Duration idleTimeout) {
+                this.idleTimeout = idleTimeout;
+                return this;
+            }
+
+            /**
+             * Максимальний час життя з'єднання; 0 вимикає обмеження.
+             */
+            public Builder withMaxLifetime(Duration maxLifetime) {
+                this.maxLifetime = maxLifetime;
+                return this;
+            }
+
+            /**
+             * Період фонової перевірки вільних з'єднань.
+             */
+            public Builder withHousekeepingInterval(Duration housekeepingInterval) {
+                this.housekeepingInterval = housekeepingInterval;
+                return this;
+            }
+
+            /**
+             * Період запису метрик пулу в журнал; 0 вимикає періодичний запис.
+             */
+            public Builder withMetricsLogInterval(Duration metricsLogInterval) {
+                this.metricsLogInterval = metricsLogInterval;
+                return this;
+            }
+
+            /**
+             * Час утримання з'єднання, після якого воно вважається можливим витоком; 0 вимикає перевірку.
+             */
+            public Builder withLeakDetectionThreshold(Duration leakDetectionThreshold) {
+                this.leakDetectionThreshold = leakDetectionThreshold;
+                return this;
+            }
+
+            /**
+             * Стек місця отримання зберігається для кожного N-го отримання з'єднання (за замовчуванням
+             * для кожного 16-го); 1 збирає стек при кожному отриманні.
+             */
+            public Builder withLeakDetectionSampleRate(int leakDetectionSampleRate) {
+                this.leakDetectionSampleRate = Math.max(1, leakDetectionSampleRate);
+                return this;
+            }
+
             public PoolConfig build() {
                 return new PoolConfig(this);
             }
         }
     }
+
+    /**
+     * Статистика кешів PreparedStatement.
+     *
+     * @param hits      повторне використання закешованого запиту
+     * @param misses    підготовка нового запиту
+     * @param evictions закриття запитів через переповнення кешу
+     */
+    public record StatementCacheStats(long hits, long misses, long evictions) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гістограма тривалостей з експоненційними кошиками в мікросекундах: кошик i містить значення
+ * до 2^i мкс. Запис не блокує і не створює об'єктів, тому гістограму можна тримати увімкненою
+ * постійно.
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Запис однієї тривалості.
+     *
+     * @param nanos тривалість у наносекундах
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value / 1_000));
+        count.increment();
+        totalNanos.add(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Знімок поточного стану гістограми.
+     *
+     * @return незмінний знімок
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, count.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    static int bucketOf(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    /**
+     * Знімок гістограми.
+     *
+     * @param buckets    кількість значень у кожному кошику
+     * @param count      загальна кількість значень
+     * @param totalNanos сума значень у наносекундах
+     * @param maxNanos   найбільше значення у наносекундах
+     */
+    public record Snapshot(long[] buckets, long count, long totalNanos, long maxNanos) {
+
+        /**
+         * Середнє значення в мікросекундах.
+         */
+        public double meanMicros() {
+            return count == 0 ? 0.0 : totalNanos / 1_000.0 / count;
+        }
+
+        /**
+         * Верхня межа кошика, до якого потрапляє заданий перцентиль, у мікросекундах.
+         *
+         * @param percentile перцентиль від 0 до 100
+         * @return оцінка перцентиля
+         */
+        public long percentileMicros(double percentile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold) {
+                    return Math.min(1L << i, Math.max(1, maxNanos / 1_000));
+                }
+            }
+            return maxNanos / 1_000;
+        }
+    }
+}
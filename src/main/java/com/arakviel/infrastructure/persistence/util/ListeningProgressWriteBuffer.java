@@ -0,0 +1,273 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import com.arakviel.domain.entities.ListeningProgress;
+import com.arakviel.infrastructure.persistence.contract.ListeningProgressRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Буфер відкладеного запису прогресу прослуховування. Плеєри повідомляють позицію кожні
+ * кілька секунд; замість окремого UPDATE на кожне повідомлення буфер тримає лише останню
+ * позицію для пари (користувач, аудіокнига) і періодично записує накопичене одним пакетом
+ * MERGE ({@link ListeningProgressRepository#upsertAll}).
+ * <p>
+ * Кількість незаписаних пар обмежена: при переповненні фоновий потік отримує завдання
+ * записати накопичене негайно, а найстаріші позиції понад межу відкидаються й рахуються
+ * в {@link #droppedCount()}. Потік, що повідомляє позицію, ніколи не чекає на базу, тож
+ * недоступність бази не зупиняє плеєр. Читання через буфер бачать ще не
+ * записані позиції. При зупинці буфер записує все накопичене.
+ */
+public final class ListeningProgressWriteBuffer {
+
+    private static final System.Logger LOGGER = System.getLogger(ListeningProgressWriteBuffer.class.getName());
+
+    private final ListeningProgressRepository repository;
+    private final int maxPending;
+    private final Map<ProgressKey, ListeningProgress> pending = new ConcurrentHashMap<>();
+    private final Map<ProgressKey, ListeningProgress> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Конструктор буфера.
+     *
+     * @param repository    репозиторій, у який записуються позиції
+     * @param flushInterval період фонового запису
+     * @param maxPending    максимальна кількість незаписаних пар (користувач, аудіокнига)
+     */
+    public ListeningProgressWriteBuffer(ListeningProgressRepository repository, Duration flushInterval, int maxPending) {
+        if (flushInterval.isZero() || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Період запису має бути більше 0");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Розмір буфера має бути більше 0");
+        }
+        this.repository = repository;
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "listening-progress-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Реєстрація нової позиції прослуховування. Попередня незаписана позиція для тієї ж пари
+     * замінюється, якщо нова не старша за неї.
+     *
+     * @param userId       ідентифікатор користувача
+     * @param audiobookId  ідентифікатор аудіокниги
+     * @param position     позиція в секундах (більше 0)
+     * @param lastListened час прослуховування
+     */
+    public void record(UUID userId, UUID audiobookId, int position, LocalDateTime lastListened) {
+        if (userId == null || audiobookId == null) {
+            throw new IllegalArgumentException("Ідентифікатори користувача та аудіокниги не можуть бути null");
+        }
+        if (position <= 0) {
+            throw new IllegalArgumentException("Позиція має бути більше 0");
+        }
+        ListeningProgress progress = new ListeningProgress(null, userId, audiobookId, position, lastListened);
+        pending.merge(new ProgressKey(userId, audiobookId), progress, ListeningProgressWriteBuffer::latest);
+        if (pending.size() > maxPending) {
+            dropOldestOverLimit();
+            requestFlush();
+        }
+    }
+
+    /**
+     * Позачерговий запис у фоновому потоці; повторні запити до його початку об'єднуються.
+     */
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        } catch (RejectedExecutionException e) {
+            // Буфер зупиняється: накопичене запише shutdown().
+            flushRequested.set(false);
+        }
+    }
+
+    /**
+     * Прогрес для пари (користувач, аудіокнига) з урахуванням незаписаних позицій.
+     *
+     * @param userId      ідентифікатор користувача
+     * @param audiobookId ідентифікатор аудіокниги
+     * @return Optional із прогресом прослуховування
+     */
+    public Optional<ListeningProgress> find(UUID userId, UUID audiobookId) {
+        ListeningProgress buffered = buffered(new ProgressKey(userId, audiobookId));
+        if (buffered != null) {
+            return Optional.of(copyOf(buffered));
+        }
+        return repository.findByUserIdAndAudiobookId(userId, audiobookId);
+    }
+
+    /**
+     * Прогрес користувача з урахуванням незаписаних позицій.
+     *
+     * @param userId ідентифікатор користувача
+     * @return список записів прогресу
+     */
+    public List<ListeningProgress> findByUserId(UUID userId) {
+        Map<UUID, ListeningProgress> byAudiobook = new LinkedHashMap<>();
+        for (ListeningProgress progress : repository.findByUserId(userId)) {
+            byAudiobook.put(progress.getAudiobookId(), progress);
+        }
+        overlay(inFlight, userId, byAudiobook);
+        overlay(pending, userId, byAudiobook);
+        return new ArrayList<>(byAudiobook.values());
+    }
+
+    /**
+     * Кількість незаписаних пар (користувач, аудіокнига).
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Кількість позицій, відкинутих через переповнення буфера під час недоступності бази.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Запис усіх накопичених позицій одним пакетом. Якщо запис не вдався, позиції
+     * повертаються в буфер (новіша позиція для пари перемагає), буфер обрізається до
+     * межі, а помилка передається викликачу.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            // Спершу копіюємо в inFlight, потім видаляємо: читач бачить позицію в одній із мап.
+            for (Map.Entry<ProgressKey, ListeningProgress> entry : pending.entrySet()) {
+                inFlight.put(entry.getKey(), entry.getValue());
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            if (inFlight.isEmpty()) {
+                return;
+            }
+            List<ListeningProgress> batch = new ArrayList<>(inFlight.values());
+            try {
+                repository.upsertAll(batch);
+            } catch (RuntimeException e) {
+                inFlight.forEach((key, progress) -> pending.merge(key, progress, ListeningProgressWriteBuffer::latest));
+                dropOldestOverLimit();
+                throw e;
+            } finally {
+                inFlight.clear();
+            }
+        }
+    }
+
+    /**
+     * Відкидання найстаріших позицій понад maxPending; позиції без часу вважаються найстарішими.
+     */
+    private void dropOldestOverLimit() {
+        int excess = pending.size() - maxPending;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<ProgressKey, ListeningProgress>> oldest = new ArrayList<>(pending.entrySet());
+        oldest.sort(Comparator.comparing((Map.Entry<ProgressKey, ListeningProgress> entry) ->
+                entry.getValue().getLastListened(), Comparator.nullsFirst(Comparator.naturalOrder())));
+        int removed = 0;
+        for (Map.Entry<ProgressKey, ListeningProgress> entry : oldest.subList(0, excess)) {
+            // Позицію, замінену паралельним повідомленням, не відкидаємо: вона новіша.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        dropped.add(removed);
+        LOGGER.log(System.Logger.Level.WARNING, String.format(
+                "Буфер прогресу прослуховування переповнено: відкинуто %d найстаріших позицій", removed));
+    }
+
+    /**
+     * Зупинка фонового запису з остаточним записом накопичених позицій.
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.log(System.Logger.Level.WARNING, String.format(
+                    "Не вдалося записати прогрес прослуховування (%d записів очікують): %s",
+                    pending.size(), e.getMessage()));
+        }
+    }
+
+    private ListeningProgress buffered(ProgressKey key) {
+        ListeningProgress progress = pending.get(key);
+        return progress != null ? progress : inFlight.get(key);
+    }
+
+    private static void overlay(Map<ProgressKey, ListeningProgress> source, UUID userId,
+                                Map<UUID, ListeningProgress> byAudiobook) {
+        source.forEach((key, progress) -> {
+            if (key.userId().equals(userId)) {
+                ListeningProgress stored = byAudiobook.get(key.audiobookId());
+                ListeningProgress merged = copyOf(progress);
+                merged.setId(stored != null ? stored.getId() : null);
+                byAudiobook.put(key.audiobookId(), merged);
+            }
+        });
+    }
+
+    /**
+     * Вибір новішої з двох позицій; при однаковому або невідомому часі перемагає пізніше
+     * повідомлена.
+     */
+    private static ListeningProgress latest(ListeningProgress current, ListeningProgress reported) {
+        if (current.getLastListened() != null && reported.getLastListened() != null
+                && reported.getLastListened().isBefore(current.getLastListened())) {
+            return current;
+        }
+        return reported;
+    }
+
+    private static ListeningProgress copyOf(ListeningProgress progress) {
+        return new ListeningProgress(progress.getId(), progress.getUserId(), progress.getAudiobookId(),
+                progress.getPosition(), progress.getLastListened());
+    }
+
+    /**
+     * Ключ буфера: пара (користувач, аудіокнига).
+     */
+    private record ProgressKey(UUID userId, UUID audiobookId) {
+    }
+}
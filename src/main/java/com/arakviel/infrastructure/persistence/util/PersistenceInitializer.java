@@ -1,6 +1,8 @@
 package com.arakviel.infrastructure.persistence.util;
 
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
@@ -21,14 +23,21 @@ public class PersistenceInitializer {
     private static final String DML_SCRIPT_PATH = "db/dml_h2.sql";
     private static final String CLEAR_SCRIPT_PATH = "db/ddl_clear_data_h2.sql";
     private final ConnectionPool connectionPool;
+    private final EntityCacheManager entityCacheManager;
+    private final SearchIndexRegistry searchIndexes;
 
     /**
      * Конструктор ініціалізатора.
      *
-     * @param connectionPool пул з'єднань для управління з'єднаннями
+     * @param connectionPool     пул з'єднань для управління з'єднаннями
+     * @param entityCacheManager кеші сутностей, що очищаються після зміни даних скриптами
+     * @param searchIndexes      пошукові індекси, що скидаються після зміни даних скриптами
      */
-    public PersistenceInitializer(ConnectionPool connectionPool) {
+    public PersistenceInitializer(ConnectionPool connectionPool, EntityCacheManager entityCacheManager,
+                                  SearchIndexRegistry searchIndexes) {
         this.connectionPool = connectionPool;
+        this.entityCacheManager = entityCacheManager;
+        this.searchIndexes = searchIndexes;
     }
 
     /**
@@ -53,6 +62,9 @@ public class PersistenceInitializer {
             connection.commit();
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка ініціалізації бази даних", e);
+        } finally {
+            entityCacheManager.clearAll();
+            searchIndexes.resetAll();
         }
     }
 
@@ -68,6 +80,9 @@ public class PersistenceInitializer {
             connection.commit();
         } catch (SQLException e) {
             throw new DatabaseAccessException("Помилка очищення даних у базі", e);
+        } finally {
+            entityCacheManager.clearAll();
+            searchIndexes.resetAll();
         }
     }
 
@@ -0,0 +1,134 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики пулу з'єднань: кількість активних і вільних з'єднань, потоків в очікуванні,
+ * гістограми часу очікування та утримання з'єднання, помилки створення, виявлені витоки.
+ * Оновлення виконуються атомарними лічильниками без блокувань і без створення об'єктів;
+ * для читання використовується {@link #snapshot()} або {@link #log(System.Logger)}.
+ */
+public final class PoolMetrics {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final LongAdder creationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+
+    void waitStarted() {
+        pending.incrementAndGet();
+    }
+
+    void waitFinished() {
+        pending.decrementAndGet();
+    }
+
+    void connectionAcquired(long waitNanos) {
+        active.incrementAndGet();
+        acquisitions.increment();
+        waitTime.record(waitNanos);
+    }
+
+    void acquisitionTimedOut(long waitNanos) {
+        timeouts.increment();
+        waitTime.record(waitNanos);
+    }
+
+    void connectionReleased(long holdNanos) {
+        active.decrementAndGet();
+        holdTime.record(holdNanos);
+    }
+
+    void connectionCreated() {
+        total.incrementAndGet();
+        created.increment();
+    }
+
+    void connectionClosed() {
+        total.decrementAndGet();
+        closed.increment();
+    }
+
+    void creationFailed() {
+        creationFailures.increment();
+    }
+
+    void leakDetected() {
+        leaksDetected.increment();
+    }
+
+    /**
+     * Знімок поточних значень метрик.
+     *
+     * @return незмінний знімок
+     */
+    public Snapshot snapshot() {
+        int totalNow = total.get();
+        int activeNow = active.get();
+        return new Snapshot(
+                activeNow,
+                Math.max(0, totalNow - activeNow),
+                totalNow,
+                pending.get(),
+                acquisitions.sum(),
+                timeouts.sum(),
+                created.sum(),
+                closed.sum(),
+                creationFailures.sum(),
+                leaksDetected.sum(),
+                waitTime.snapshot(),
+                holdTime.snapshot());
+    }
+
+    /**
+     * Запис знімка метрик у журнал одним рядком.
+     *
+     * @param logger журнал
+     */
+    public void log(System.Logger logger) {
+        logger.log(System.Logger.Level.INFO, snapshot().toLogLine());
+    }
+
+    /**
+     * Знімок метрик пулу.
+     *
+     * @param active           з'єднання, видані викликачам
+     * @param idle             відкриті з'єднання, що чекають у пулі
+     * @param total            усі відкриті з'єднання
+     * @param pending          потоки, що чекають на з'єднання
+     * @param acquisitions     успішні отримання з'єднання
+     * @param timeouts         отримання, що завершилися тайм-аутом
+     * @param created          створені фізичні з'єднання
+     * @param closed           закриті фізичні з'єднання
+     * @param creationFailures помилки створення з'єднання
+     * @param leaksDetected    з'єднання, утримані довше за поріг виявлення витоків
+     * @param waitTime         час очікування з'єднання
+     * @param holdTime         час утримання з'єднання
+     */
+    public record Snapshot(int active, int idle, int total, int pending,
+                           long acquisitions, long timeouts, long created, long closed, long creationFailures,
+                           long leaksDetected,
+                           LatencyHistogram.Snapshot waitTime, LatencyHistogram.Snapshot holdTime) {
+
+        /**
+         * Подання знімка одним рядком для журналу.
+         */
+        public String toLogLine() {
+            return String.format(
+                    "Пул з'єднань: active=%d idle=%d total=%d pending=%d acquisitions=%d timeouts=%d "
+                            + "created=%d closed=%d creationFailures=%d leaks=%d "
+                            + "wait(p50=%dµs p99=%dµs max=%dµs) hold(p50=%dµs p99=%dµs max=%dµs)",
+                    active, idle, total, pending, acquisitions, timeouts, created, closed, creationFailures, leaksDetected,
+                    waitTime.percentileMicros(50), waitTime.percentileMicros(99), waitTime.maxNanos() / 1_000,
+                    holdTime.percentileMicros(50), holdTime.percentileMicros(99), holdTime.maxNanos() / 1_000);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Обмежений кеш SQL-шаблонів для одного репозиторію. Ключ складається з назви операції та форми
+ * запиту (умова WHERE, сортування тощо), тож повторні виклики отримують той самий екземпляр рядка,
+ * а драйвер може повторно використати підготовлений запит. При переповненні витісняється
+ * найдавніше використаний шаблон.
+ */
+public final class SqlTemplateCache {
+
+    private final int maxSize;
+    private final Map<String, String> templates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Конструктор кешу.
+     *
+     * @param maxSize максимальна кількість шаблонів
+     */
+    public SqlTemplateCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Розмір кешу SQL має бути більше 0");
+        }
+        this.maxSize = maxSize;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > SqlTemplateCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Отримання SQL-шаблону з кешу або побудова і збереження нового.
+     *
+     * @param key     ключ: операція та форма запиту
+     * @param builder побудова SQL при промаху
+     * @return SQL-рядок
+     */
+    public String get(String key, Supplier<String> builder) {
+        synchronized (templates) {
+            String sql = templates.get(key);
+            if (sql != null) {
+                hits.increment();
+                return sql;
+            }
+        }
+        misses.increment();
+        String sql = builder.get();
+        synchronized (templates) {
+            String existing = templates.putIfAbsent(key, sql);
+            return existing != null ? existing : sql;
+        }
+    }
+
+    /**
+     * Знімок статистики кешу.
+     *
+     * @return кількість влучань, промахів і поточний розмір
+     */
+    public Stats stats() {
+        int size;
+        synchronized (templates) {
+            size = templates.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), size);
+    }
+
+    /**
+     * Статистика кешу SQL-шаблонів.
+     *
+     * @param hits   кількість влучань
+     * @param misses кількість промахів
+     * @param size   кількість шаблонів у кеші
+     */
+    public record Stats(long hits, long misses, int size) {
+
+        /**
+         * Частка влучань від усіх звернень.
+         */
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кеш PreparedStatement для одного фізичного з'єднання. Запит, закритий викликом close(),
+ * не знищується, а повертається в кеш і видається повторно для того самого SQL.
+ * Кількість вільних запитів обмежена; при переповненні закривається найдавніше використаний.
+ */
+final class StatementCache {
+
+    private final Connection physicalConnection;
+    private final int maxSize;
+    private final Map<String, PreparedStatement> idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    StatementCache(Connection physicalConnection, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physicalConnection = physicalConnection;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Видача підготовленого запиту з кешу або створення нового.
+     *
+     * @param sql             SQL-запит
+     * @param proxyConnection з'єднання, яке бачить код репозиторію
+     * @return запит, чий close() повертає його в кеш
+     * @throws SQLException якщо не вдалося підготувати запит
+     */
+    synchronized PreparedStatement prepare(String sql, Connection proxyConnection) throws SQLException {
+        PreparedStatement statement = idleStatements.remove(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = physicalConnection.prepareStatement(sql);
+        }
+        return wrap(sql, statement, proxyConnection);
+    }
+
+    /**
+     * Закриття всіх вільних запитів.
+     */
+    synchronized void clear() {
+        for (PreparedStatement statement : idleStatements.values()) {
+            closeQuietly(statement);
+        }
+        idleStatements.clear();
+    }
+
+    private synchronized void release(String sql, PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+        statement.clearParameters();
+        statement.clearBatch();
+        PreparedStatement previous = idleStatements.putIfAbsent(sql, statement);
+        if (previous != null) {
+            // Той самий SQL уже повернуто іншим екземпляром — зайвий закриваємо.
+            closeQuietly(statement);
+            return;
+        }
+        if (idleStatements.size() > maxSize) {
+            Iterator<PreparedStatement> eldest = idleStatements.values().iterator();
+            closeQuietly(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private PreparedStatement wrap(String sql, PreparedStatement statement, Connection proxyConnection) {
+        boolean[] closed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                release(sql, statement);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return closed[0] || statement.isClosed();
+                        }
+                        case "getConnection" -> {
+                            return proxyConnection;
+                        }
+                        default -> {
+                            if (closed[0]) {
+                                throw new SQLException("Запит уже закрито");
+                            }
+                            return invoke(method, statement, args);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Виклик методу на реальному об'єкті з розгортанням InvocationTargetException,
+     * щоб SQLException доходили до викликача без обгортки.
+     */
+    static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Запит уже не використовується, помилку закриття можна пропустити.
+        }
+    }
+}
@@ -10,6 +10,9 @@ CREATE TABLE IF NOT EXISTS authors (
     image_path  VARCHAR(2048)
 );
 
+-- Вибірка за ключем (last_name, id) для каталогу авторів
+CREATE INDEX IF NOT EXISTS authors_last_name_id_idx ON authors(last_name, id);
+
 -- 3NF
 CREATE TABLE IF NOT EXISTS genres (
     PRIMARY KEY(id),
@@ -51,6 +54,8 @@ CREATE TABLE IF NOT EXISTS audiobooks (
 
 CREATE INDEX IF NOT EXISTS audiobooks_author_id_idx ON audiobooks(author_id);
 CREATE INDEX IF NOT EXISTS audiobooks_genre_id_idx  ON audiobooks(genre_id);
+-- Вибірка за ключем (title, id) для каталогу аудіокниг
+CREATE INDEX IF NOT EXISTS audiobooks_title_id_idx  ON audiobooks(title, id);
 
 -- 3NF
 CREATE TABLE IF NOT EXISTS users (
@@ -126,7 +131,7 @@ CREATE INDEX IF NOT EXISTS audiobook_files_audiobook_id_idx ON audiobook_files(a
 -- 3NF
 CREATE TABLE IF NOT EXISTS listening_progresses (
     PRIMARY KEY(id),
-    id               UUID,
+    id               UUID       DEFAULT RANDOM_UUID(),
     user_id          UUID,
                       CONSTRAINT listening_progresses_user_id_users_id_fkey
                      FOREIGN KEY (user_id)
@@ -146,5 +151,8 @@ CREATE TABLE IF NOT EXISTS listening_progresses (
     last_listened    TIMESTAMP
 );
 
-CREATE INDEX IF NOT EXISTS listening_progresses_user_id_idx       ON listening_progresses(user_id);
+-- Один запис прогресу на пару (користувач, аудіокнига); індекс також обслуговує пошук за user_id
+CREATE UNIQUE INDEX IF NOT EXISTS listening_progresses_user_id_audiobook_id_key ON listening_progresses(user_id, audiobook_id);
+-- «Продовжити прослуховування»: останні аудіокниги користувача без сортування всіх його записів
+CREATE INDEX IF NOT EXISTS listening_progresses_user_id_last_listened_idx ON listening_progresses(user_id, last_listened DESC);
 CREATE INDEX IF NOT EXISTS listening_progresses_audiobook_id_idx  ON listening_progresses(audiobook_id);
\ No newline at end of file
@@ -3,8 +3,12 @@ package com.arakviel.infrastructure.persistence;
 import com.arakviel.domain.entities.Audiobook;
 import com.arakviel.domain.entities.Author;
 import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookSummary;
 import com.arakviel.infrastructure.InfrastructureConfig;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
 import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import com.arakviel.infrastructure.persistence.impl.AuthorRepositoryImpl;
+import com.arakviel.infrastructure.persistence.search.SearchIndexRegistry;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import com.arakviel.infrastructure.persistence.util.PersistenceInitializer;
 import org.junit.jupiter.api.AfterAll;
@@ -29,17 +33,20 @@ class AuthorRepositoryTest {
     private final PersistenceInitializer persistenceInitializer;
     private final ConnectionPool connectionPool;
     private final PersistenceContext persistenceContext;
+    private final EntityCacheManager entityCacheManager;
 
     @Autowired
     public AuthorRepositoryTest(
             AuthorRepository authorRepository,
             PersistenceInitializer persistenceInitializer,
             ConnectionPool connectionPool,
-            PersistenceContext persistenceContext) {
+            PersistenceContext persistenceContext,
+            EntityCacheManager entityCacheManager) {
         this.authorRepository = authorRepository;
         this.persistenceInitializer = persistenceInitializer;
         this.connectionPool = connectionPool;
         this.persistenceContext = persistenceContext;
+        this.entityCacheManager = entityCacheManager;
     }
 
     @BeforeEach
@@ -50,7 +57,7 @@ class AuthorRepositoryTest {
 
     @AfterAll
     void closeResources() {
-        connectionPool.shutdown();
+        connectionPool.evictIdle();
     }
 
 /*    @AfterAll
@@ -157,6 +164,28 @@ class AuthorRepositoryTest {
                 .containsExactlyInAnyOrder("Shevchenko", "Shevchenko");
     }
 
+    @Test
+    void shouldMatchLikeWildcardsLiterallyWithAndWithoutTrigramIndex() {
+        // Arrange
+        persistenceContext.registerNew(new Author(UUID.randomUUID(), "Ivan", "Franko_100%", "Bio", null));
+        persistenceContext.registerNew(new Author(UUID.randomUUID(), "Ivan", "Frankovych", "Bio", null));
+        persistenceContext.commit();
+        AuthorRepository withoutIndex = new AuthorRepositoryImpl(
+                connectionPool, entityCacheManager, new SearchIndexRegistry(table -> false));
+
+        // Act & Assert
+        for (AuthorRepository repository : List.of(authorRepository, withoutIndex)) {
+            assertThat(repository.findByPartialName("o_1"))
+                    .extracting(Author::getLastName)
+                    .containsExactly("Franko_100%");
+            assertThat(repository.findByPartialName("0%"))
+                    .extracting(Author::getLastName)
+                    .containsExactly("Franko_100%");
+            assertThat(repository.findByPartialName("%")).hasSize(1);
+            assertThat(repository.findByPartialName("ko_v")).isEmpty();
+        }
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoAuthorsMatchPartialName() {
         // Arrange
@@ -246,4 +275,87 @@ class AuthorRepositoryTest {
                 .extracting(Author::getFirstName)
                 .containsExactlyInAnyOrder("Vasyl", "Olha");
     }
+
+    @Test
+    void shouldSelectAudiobookSummariesByAuthorId() {
+        // Arrange
+        Author author = new Author(UUID.randomUUID(), "Lesya", "Ukrainka", "Bio", null);
+        Genre genre = new Genre(UUID.randomUUID(), "Drama", null);
+        Audiobook audiobook = new Audiobook(
+                UUID.randomUUID(), author.getId(), genre.getId(), "Lisova pisnia", 5400, 2020, "Long description", "cover.jpg");
+        persistenceContext.registerNew(author);
+        persistenceContext.registerNew(genre);
+        persistenceContext.registerNew(audiobook);
+        persistenceContext.commit();
+
+        // Act
+        List<AudiobookSummary> summaries = authorRepository.findAudiobookSummariesByAuthorId(author.getId());
+
+        // Assert
+        assertThat(summaries).containsExactly(
+                new AudiobookSummary(audiobook.getId(), "Lisova pisnia", 5400, "cover.jpg"));
+    }
+
+    @Test
+    void shouldCheckAuthorExistenceByName() {
+        // Arrange
+        persistenceContext.registerNew(new Author(UUID.randomUUID(), "Ivan", "Bahrianyi", "Bio", null));
+
+        // Act
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(authorRepository.existsByName("Ivan", "Bahrianyi")).isTrue();
+        assertThat(authorRepository.existsByName("Ivan", "Franko")).isFalse();
+    }
+
+    @Test
+    void shouldFindAuthorsByFullTextSearchAfterWrites() {
+        // Arrange
+        Author shevchenko = new Author(UUID.randomUUID(), "Taras", "Shevchenko", "Poet and painter", null);
+        Author franko = new Author(UUID.randomUUID(), "Ivan", "Franko", "Poet, writer and translator", null);
+        persistenceContext.registerNew(shevchenko);
+        persistenceContext.registerNew(franko);
+        persistenceContext.commit();
+
+        // Act
+        PageWithTotal<Author> poets = authorRepository.search("poet", 0, 1);
+        PageWithTotal<Author> byPrefix = authorRepository.search("shev", 0, 10);
+        franko.setBio("Writer");
+        persistenceContext.registerUpdated(franko.getId(), franko);
+        persistenceContext.registerDeleted(shevchenko);
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(poets.total()).isEqualTo(2);
+        assertThat(poets.items()).hasSize(1);
+        assertThat(poets.hasMore()).isTrue();
+        assertThat(byPrefix.items()).extracting(Author::getLastName).containsExactly("Shevchenko");
+        assertThat(authorRepository.search("poet", 0, 10).items()).isEmpty();
+        assertThat(authorRepository.search("writer", 0, 10).items())
+                .extracting(Author::getLastName)
+                .containsExactly("Franko");
+    }
+
+    @Test
+    void shouldFindAuthorsBySimilarNameAfterWrites() {
+        // Arrange
+        Author shevchenko = new Author(UUID.randomUUID(), "Taras", "Shevchenko", "Bio", null);
+        Author franko = new Author(UUID.randomUUID(), "Ivan", "Franko", "Bio", null);
+        persistenceContext.registerNew(shevchenko);
+        persistenceContext.registerNew(franko);
+        persistenceContext.commit();
+
+        // Act
+        List<Author> typo = authorRepository.findBySimilarName("Shevcenko", 0.4);
+        franko.setLastName("Frankovych");
+        persistenceContext.registerUpdated(franko.getId(), franko);
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(typo).extracting(Author::getLastName).containsExactly("Shevchenko");
+        assertThat(authorRepository.findByPartialName("kovy"))
+                .extracting(Author::getLastName)
+                .containsExactly("Frankovych");
+    }
 }
\ No newline at end of file
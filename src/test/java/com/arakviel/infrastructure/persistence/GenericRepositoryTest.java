@@ -0,0 +1,150 @@
+package com.arakviel.infrastructure.persistence;
+
+import com.arakviel.domain.entities.Author;
+import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тести спільних операцій {@link GenericRepository}: посторінкове читання, потокова
+ * вибірка, пакетне завантаження та проєкції. Як приклад використано репозиторій авторів.
+ */
+class GenericRepositoryTest extends PersistenceIntegrationTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    void shouldWalkAllPagesWithKeysetCursor() {
+        // Arrange
+        for (String lastName : List.of("Franko", "Kulish", "Shevchenko", "Stus", "Ukrainka")) {
+            persistenceContext.registerNew(new Author(UUID.randomUUID(), "Name", lastName, "Bio", null));
+        }
+        persistenceContext.registerNew(new Author(UUID.randomUUID(), "Other", "Franko", "Bio", null));
+        persistenceContext.commit();
+
+        // Act
+        List<String> lastNames = new ArrayList<>();
+        Cursor cursor = null;
+        int pages = 0;
+        do {
+            Page<Author> page = authorRepository.findPage(null, Repository.SortKey.asc("last_name"), cursor, 2);
+            page.items().forEach(author -> lastNames.add(author.getLastName()));
+            cursor = page.hasNext() ? Cursor.decode(page.next().encode()) : null;
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(3);
+        assertThat(lastNames).containsExactly("Franko", "Franko", "Kulish", "Shevchenko", "Stus", "Ukrainka");
+    }
+
+    @Test
+    void shouldStreamFilteredAuthorsAndReleaseConnection() {
+        // Arrange
+        for (String lastName : List.of("Franko", "Kulish", "Shevchenko")) {
+            persistenceContext.registerNew(new Author(UUID.randomUUID(), "Name", lastName, "Bio", null));
+        }
+        persistenceContext.commit();
+        int activeBefore = connectionPool.metrics().snapshot().active();
+
+        // Act
+        List<String> lastNames;
+        try (Stream<Author> authors = authorRepository.stream((whereClause, params) -> {
+            whereClause.add("last_name <> ?");
+            params.add("Kulish");
+        })) {
+            lastNames = authors.map(Author::getLastName).sorted().toList();
+        }
+        List<String> visited = new ArrayList<>();
+        authorRepository.forEach(null, author -> visited.add(author.getLastName()));
+        Stream<Author> abandoned = authorRepository.stream(null);
+        abandoned.findFirst();
+        abandoned.close();
+
+        // Assert
+        assertThat(lastNames).containsExactly("Franko", "Shevchenko");
+        assertThat(visited).hasSize(3);
+        assertThat(connectionPool.metrics().snapshot().active()).isEqualTo(activeBefore);
+    }
+
+    @Test
+    void shouldReturnPageWithTotalInSingleQuery() {
+        // Arrange
+        for (String lastName : List.of("Franko", "Kulish", "Shevchenko", "Stus", "Ukrainka")) {
+            persistenceContext.registerNew(new Author(UUID.randomUUID(), "Name", lastName, "Bio", null));
+        }
+        persistenceContext.commit();
+        Repository.Filter withoutStus = (whereClause, params) -> {
+            whereClause.add("last_name <> ?");
+            params.add("Stus");
+        };
+
+        // Act
+        PageWithTotal<Author> exact = authorRepository.findPageWithTotal(
+                withoutStus, "last_name", true, 0, 2, Repository.TotalMode.EXACT);
+        PageWithTotal<Author> beyondEnd = authorRepository.findPageWithTotal(
+                withoutStus, "last_name", true, 10, 2, Repository.TotalMode.EXACT);
+        PageWithTotal<Author> estimated = authorRepository.findPageWithTotal(
+                null, "last_name", true, 4, 2, Repository.TotalMode.ESTIMATED);
+        PageWithTotal<Author> withoutTotal = authorRepository.findPageWithTotal(
+                null, "last_name", false, 0, 2, Repository.TotalMode.NONE);
+
+        // Assert
+        assertThat(exact.items()).extracting(Author::getLastName).containsExactly("Franko", "Kulish");
+        assertThat(exact.total()).isEqualTo(4);
+        assertThat(exact.hasMore()).isTrue();
+        assertThat(beyondEnd.items()).isEmpty();
+        assertThat(beyondEnd.total()).isEqualTo(4);
+        assertThat(estimated.items()).extracting(Author::getLastName).containsExactly("Ukrainka");
+        assertThat(estimated.totalExact()).isFalse();
+        assertThat(estimated.total()).isGreaterThanOrEqualTo(5);
+        assertThat(estimated.hasMore()).isFalse();
+        assertThat(withoutTotal.hasTotal()).isFalse();
+        assertThat(withoutTotal.items()).extracting(Author::getLastName).containsExactly("Ukrainka", "Stus");
+        assertThat(withoutTotal.hasMore()).isTrue();
+    }
+
+    @Test
+    void shouldLoadAuthorsByIdsInOneQuery() {
+        // Arrange
+        Author franko = new Author(UUID.randomUUID(), "Ivan", "Franko", "Bio", null);
+        Author stus = new Author(UUID.randomUUID(), "Vasyl", "Stus", "Bio", null);
+        persistenceContext.registerNew(franko);
+        persistenceContext.registerNew(stus);
+        persistenceContext.commit();
+        UUID unknownId = UUID.randomUUID();
+
+        // Act
+        Map<UUID, Author> authors = authorRepository.findAllByIds(
+                List.of(stus.getId(), unknownId, franko.getId(), stus.getId()));
+
+        // Assert
+        assertThat(authors.keySet()).containsExactly(stus.getId(), franko.getId());
+        assertThat(authors.get(franko.getId()).getLastName()).isEqualTo("Franko");
+    }
+
+    @Test
+    void shouldSelectOnlyProjectionColumnsIntoRecords() {
+        // Arrange
+        persistenceContext.registerNew(new Author(UUID.randomUUID(), "Lesya", "Ukrainka", "Bio", null));
+        persistenceContext.commit();
+
+        // Act
+        List<AuthorName> names = authorRepository.findAll(AuthorName.class, null, "last_name", true, 0, 10);
+
+        // Assert
+        assertThat(names).containsExactly(new AuthorName("Lesya", "Ukrainka"));
+    }
+
+    private record AuthorName(String firstName, String lastName) {
+    }
+}
@@ -1,7 +1,12 @@
 package com.arakviel.infrastructure.persistence;
 
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
 import com.arakviel.domain.entities.Genre;
 import com.arakviel.infrastructure.InfrastructureConfig;
+import com.arakviel.infrastructure.persistence.cache.EntityCache;
+import com.arakviel.infrastructure.persistence.cache.EntityCacheManager;
+import com.arakviel.infrastructure.persistence.cache.ExistenceIndex;
 import com.arakviel.infrastructure.persistence.contract.GenreRepository;
 import com.arakviel.infrastructure.persistence.util.ConnectionPool;
 import com.arakviel.infrastructure.persistence.util.PersistenceInitializer;
@@ -14,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,14 +40,22 @@ class GenreRepositoryTest {
     @Autowired
     private ConnectionPool connectionPool;
 
+    @Autowired
+    private PersistenceContext persistenceContext;
+
+    @Autowired
+    private EntityCacheManager entityCacheManager;
+
     @BeforeEach
     void setUp() {
+        persistenceInitializer.init(false); // Create schema if needed
+        persistenceInitializer.clearData(); // Remove sample data left by previous tests
         persistenceInitializer.init(true); // Initialize with sample data
     }
 
     @AfterAll
     void closeResources() {
-        connectionPool.shutdown();
+        connectionPool.evictIdle();
     }
 
     @Test
@@ -128,4 +142,74 @@ class GenreRepositoryTest {
         // Assert
         assertThat(exists).isTrue();
     }
+
+    @Test
+    void shouldAnswerExistenceChecksAfterWrites() {
+        // Arrange - own data only, without sample genres
+        persistenceInitializer.clearData();
+        long answeredBefore = nameIndexStats().answered();
+        assertThat(genreRepository.existsByName("Poetry")).isFalse();
+        long answeredAbsent = nameIndexStats().answered();
+        Genre genre = new Genre(UUID.randomUUID(), "Poetry", null);
+        persistenceContext.registerNew(genre);
+
+        // Act
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(answeredAbsent).isEqualTo(answeredBefore + 1);
+        assertThat(genreRepository.existsByName("Poetry")).isTrue();
+        long answeredFirstPresent = nameIndexStats().answered();
+        assertThat(genreRepository.existsByName("Poetry")).isTrue();
+        assertThat(genreRepository.existsByName("Poetry")).isTrue();
+        assertThat(nameIndexStats().answered()).isEqualTo(answeredFirstPresent + 2);
+        assertThat(genreRepository.existsByName("Prose")).isFalse();
+
+        persistenceContext.registerDeleted(genre);
+        persistenceContext.commit();
+        assertThat(genreRepository.existsByName("Poetry")).isFalse();
+    }
+
+    @Test
+    void shouldServeCachedGenreQueriesUntilAudiobooksChange() {
+        // Arrange - own data only, without sample genres
+        persistenceInitializer.clearData();
+        Author author = new Author(UUID.randomUUID(), "Vasyl", "Stefanyk", "Bio", null);
+        Genre genre = new Genre(UUID.randomUUID(), "Novella", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.registerNew(genre);
+        persistenceContext.registerNew(new Audiobook(UUID.randomUUID(), author.getId(), genre.getId(), "Novyny", 3600, 2020, "Novella", null));
+        persistenceContext.commit();
+
+        // Act
+        List<Audiobook> first = genreRepository.findAudiobooksByGenreId(genre.getId());
+        first.getFirst().setTitle("Changed without saving");
+        genreRepository.countAudiobooksByGenreId(genre.getId());
+        EntityCache.Stats beforeRepeat = entityCacheManager.queryResultCache().stats();
+        List<Audiobook> cached = genreRepository.findAudiobooksByGenreId(genre.getId());
+        long cachedCount = genreRepository.countAudiobooksByGenreId(genre.getId());
+        EntityCache.Stats afterRepeat = entityCacheManager.queryResultCache().stats();
+        persistenceContext.registerNew(new Audiobook(UUID.randomUUID(), author.getId(), genre.getId(), "Kamenyi khrest", 3600, 2020, "Novella", null));
+        persistenceContext.commit();
+        List<Audiobook> reloaded = genreRepository.findAudiobooksByGenreId(genre.getId());
+        long reloadedCount = genreRepository.countAudiobooksByGenreId(genre.getId());
+        EntityCache.Stats afterCommit = entityCacheManager.queryResultCache().stats();
+
+        // Assert
+        assertThat(afterRepeat.hits()).isEqualTo(beforeRepeat.hits() + 2);
+        assertThat(afterRepeat.misses()).isEqualTo(beforeRepeat.misses());
+        assertThat(afterCommit.hits()).isEqualTo(afterRepeat.hits());
+        assertThat(afterCommit.misses()).isEqualTo(afterRepeat.misses() + 2);
+        assertThat(cached).extracting(Audiobook::getTitle).containsExactly("Novyny");
+        assertThat(cachedCount).isEqualTo(1);
+        assertThat(reloaded).hasSize(2);
+        assertThat(reloadedCount).isEqualTo(2);
+    }
+
+    private ExistenceIndex.Stats nameIndexStats() {
+        return entityCacheManager.existenceStats().stream()
+                .filter(stats -> stats.name().equals("genres.name"))
+                .findFirst()
+                .orElseThrow();
+    }
 }
@@ -0,0 +1,150 @@
+package com.arakviel.infrastructure.persistence;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.entities.ListeningProgress;
+import com.arakviel.domain.entities.User;
+import com.arakviel.domain.projections.RecentAudiobook;
+import com.arakviel.infrastructure.InfrastructureConfig;
+import com.arakviel.infrastructure.persistence.contract.ListeningProgressRepository;
+import com.arakviel.infrastructure.persistence.util.PersistenceInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig(classes = {InfrastructureConfig.class})
+@TestInstance(Lifecycle.PER_CLASS)
+class ListeningProgressRepositoryTest {
+
+    private final ListeningProgressRepository listeningProgressRepository;
+    private final PersistenceInitializer persistenceInitializer;
+    private final PersistenceContext persistenceContext;
+
+    private UUID userId;
+    private UUID audiobookId;
+    private UUID authorId;
+    private UUID genreId;
+
+    @Autowired
+    public ListeningProgressRepositoryTest(
+            ListeningProgressRepository listeningProgressRepository,
+            PersistenceInitializer persistenceInitializer,
+            PersistenceContext persistenceContext) {
+        this.listeningProgressRepository = listeningProgressRepository;
+        this.persistenceInitializer = persistenceInitializer;
+        this.persistenceContext = persistenceContext;
+    }
+
+    @BeforeEach
+    void setUp() {
+        persistenceInitializer.init(false); // Initialize without DML
+        persistenceInitializer.clearData(); // Clear all data for isolation
+
+        Author author = new Author(UUID.randomUUID(), "Lesya", "Ukrainka", "Bio", null);
+        Genre genre = new Genre(UUID.randomUUID(), "Drama", null);
+        Audiobook audiobook = new Audiobook(
+                UUID.randomUUID(), author.getId(), genre.getId(), "Lisova pisnia", 5400, 2020, "Drama", null);
+        User user = new User(UUID.randomUUID(), "listener", "hash", "listener@example.com", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.registerNew(genre);
+        persistenceContext.registerNew(audiobook);
+        persistenceContext.registerNew(user);
+        persistenceContext.commit();
+
+        userId = user.getId();
+        audiobookId = audiobook.getId();
+        authorId = author.getId();
+        genreId = genre.getId();
+    }
+
+    @Test
+    void shouldInsertThenUpdateSingleRowOnUpsert() {
+        // Arrange
+        LocalDateTime listenedAt = LocalDateTime.of(2025, 5, 1, 20, 0);
+
+        // Act
+        listeningProgressRepository.upsertProgress(userId, audiobookId, 120, listenedAt);
+        listeningProgressRepository.upsertProgress(userId, audiobookId, 300, listenedAt.plusMinutes(3));
+
+        // Assert
+        List<ListeningProgress> progresses = listeningProgressRepository.findByUserId(userId);
+        assertThat(progresses).hasSize(1);
+        assertThat(progresses.getFirst().getId()).isNotNull();
+        assertThat(progresses.getFirst().getPosition()).isEqualTo(300);
+        assertThat(progresses.getFirst().getLastListened()).isEqualTo(listenedAt.plusMinutes(3));
+    }
+
+    @Test
+    void shouldUpsertBatchKeepingExistingId() {
+        // Arrange
+        listeningProgressRepository.upsertProgress(userId, audiobookId, 60, LocalDateTime.now());
+        UUID existingId = listeningProgressRepository.findByUserIdAndAudiobookId(userId, audiobookId)
+                .orElseThrow()
+                .getId();
+
+        // Act
+        listeningProgressRepository.upsertAll(List.of(
+                new ListeningProgress(null, userId, audiobookId, 900, LocalDateTime.now())));
+
+        // Assert
+        ListeningProgress progress = listeningProgressRepository.findByUserIdAndAudiobookId(userId, audiobookId)
+                .orElseThrow();
+        assertThat(progress.getId()).isEqualTo(existingId);
+        assertThat(progress.getPosition()).isEqualTo(900);
+    }
+
+    @Test
+    void shouldNotReplaceNewerPositionWithStaleBatch() {
+        // Arrange
+        LocalDateTime listenedAt = LocalDateTime.of(2025, 5, 1, 20, 0);
+        listeningProgressRepository.upsertProgress(userId, audiobookId, 600, listenedAt);
+
+        // Act
+        listeningProgressRepository.upsertAll(List.of(
+                new ListeningProgress(null, userId, audiobookId, 300, listenedAt.minusMinutes(5))));
+
+        // Assert
+        ListeningProgress progress = listeningProgressRepository.findByUserIdAndAudiobookId(userId, audiobookId)
+                .orElseThrow();
+        assertThat(progress.getPosition()).isEqualTo(600);
+        assertThat(progress.getLastListened()).isEqualTo(listenedAt);
+    }
+
+    @Test
+    void shouldReturnMostRecentlyListenedAudiobooksWithDetails() {
+        // Arrange
+        Audiobook second = new Audiobook(
+                UUID.randomUUID(), authorId, genreId, "Kaminnyi hospodar", 4000, 2021, "Drama", "cover.jpg");
+        Audiobook third = new Audiobook(
+                UUID.randomUUID(), authorId, genreId, "Boiarynia", 3000, 2022, "Drama", null);
+        persistenceContext.registerNew(second);
+        persistenceContext.registerNew(third);
+        persistenceContext.commit();
+
+        LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 0);
+        listeningProgressRepository.upsertProgress(userId, audiobookId, 100, now.minusDays(2));
+        listeningProgressRepository.upsertProgress(userId, second.getId(), 200, now);
+        listeningProgressRepository.upsertProgress(userId, third.getId(), 300, now.minusDays(1));
+
+        // Act
+        List<RecentAudiobook> recent = listeningProgressRepository.findRecentByUserId(userId, 2);
+
+        // Assert
+        assertThat(recent)
+                .extracting(RecentAudiobook::title)
+                .containsExactly("Kaminnyi hospodar", "Boiarynia");
+        assertThat(recent.getFirst())
+                .extracting(RecentAudiobook::authorLastName, RecentAudiobook::position, RecentAudiobook::coverImagePath)
+                .containsExactly("Ukrainka", 200, "cover.jpg");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.arakviel.infrastructure.persistence;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тести контексту збереження: атомарність фіксації, порядок запису, ізоляція потоків
+ * та відстеження завантажених сутностей.
+ */
+class PersistenceContextTest extends PersistenceIntegrationTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    void shouldRollbackWholeCommitWhenOneOperationFails() {
+        // Arrange
+        Author existing = new Author(UUID.randomUUID(), "Lesya", "Ukrainka", "Bio", null);
+        persistenceContext.registerNew(existing);
+        persistenceContext.commit();
+
+        Author fresh = new Author(UUID.randomUUID(), "Ivan", "Franko", "Bio", null);
+        Author duplicate = new Author(existing.getId(), "Lesya", "Ukrainka", "Bio", null);
+        persistenceContext.registerNew(fresh);
+        persistenceContext.registerNew(duplicate);
+
+        // Act & Assert
+        assertThatThrownBy(persistenceContext::commit).isInstanceOf(DatabaseAccessException.class);
+        assertThat(authorRepository.findById(fresh.getId())).isEmpty();
+        assertThat(authorRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shouldKeepPendingChangesSeparatePerThread() throws InterruptedException {
+        // Arrange
+        Author mine = new Author(UUID.randomUUID(), "Taras", "Shevchenko", "Bio", null);
+        Author other = new Author(UUID.randomUUID(), "Panteleimon", "Kulish", "Bio", null);
+        persistenceContext.registerNew(mine);
+
+        // Act
+        Thread thread = new Thread(() -> persistenceContext.registerNew(other));
+        thread.start();
+        thread.join();
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(authorRepository.findAll())
+                .extracting(Author::getId)
+                .containsExactly(mine.getId());
+    }
+
+    @Test
+    void shouldFlushInDependencyOrderRegardlessOfRegistrationOrder() {
+        // Arrange
+        UUID authorId = UUID.randomUUID();
+        UUID genreId = UUID.randomUUID();
+        Audiobook audiobook = new Audiobook(
+                UUID.randomUUID(), authorId, genreId, "Zakhar Berkut", 7200, 2021, "Novel", null);
+        persistenceContext.registerNew(audiobook);
+        persistenceContext.registerNew(new Genre(genreId, "Prose", null));
+        persistenceContext.registerNew(new Author(authorId, "Ivan", "Franko", "Bio", null));
+        persistenceContext.commit();
+
+        // Act
+        persistenceContext.registerDeleted(new Author(authorId, "Ivan", "Franko", "Bio", null));
+        persistenceContext.registerDeleted(audiobook);
+        persistenceContext.commit();
+
+        // Assert
+        assertThat(authorRepository.findById(authorId)).isEmpty();
+        assertThat(authorRepository.countAudiobooksByAuthorId(authorId)).isZero();
+    }
+
+    @Test
+    void shouldReturnSameInstanceWithinScope() {
+        // Arrange
+        Author author = new Author(UUID.randomUUID(), "Marko", "Vovchok", "Bio", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.commit();
+
+        // Act
+        Author first;
+        Author second;
+        Author fromList;
+        try (PersistenceContext.Scope scope = persistenceContext.openScope()) {
+            first = authorRepository.findById(author.getId()).orElseThrow();
+            second = authorRepository.findById(author.getId()).orElseThrow();
+            fromList = authorRepository.findAll().getFirst();
+        }
+        Author outside = authorRepository.findById(author.getId()).orElseThrow();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(fromList).isSameAs(first);
+        assertThat(outside).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldFlushOnlyChangedTrackedEntitiesOnCommit() {
+        // Arrange
+        Author author = new Author(UUID.randomUUID(), "Hryhorii", "Skovoroda", "Philosopher", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.commit();
+
+        // Act
+        try (PersistenceContext.Scope scope = persistenceContext.openScope()) {
+            Author loaded = authorRepository.findById(author.getId()).orElseThrow();
+            loaded.setBio("Poet and philosopher");
+            persistenceContext.commit();
+        }
+        Author reloaded = authorRepository.findById(author.getId()).orElseThrow();
+
+        // Assert
+        assertThat(reloaded.getBio()).isEqualTo("Poet and philosopher");
+        assertThat(reloaded.getFirstName()).isEqualTo("Hryhorii");
+    }
+}
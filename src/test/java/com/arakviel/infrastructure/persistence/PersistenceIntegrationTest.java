@@ -0,0 +1,40 @@
+package com.arakviel.infrastructure.persistence;
+
+import com.arakviel.infrastructure.InfrastructureConfig;
+import com.arakviel.infrastructure.persistence.util.ConnectionPool;
+import com.arakviel.infrastructure.persistence.util.PersistenceInitializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * Основа інтеграційних тестів шару збереження, що не прив'язані до одного репозиторію:
+ * контекст Spring, порожня база перед кожним тестом і звільнення з'єднань після класу.
+ */
+@SpringJUnitConfig(classes = {InfrastructureConfig.class})
+@TestInstance(Lifecycle.PER_CLASS)
+public abstract class PersistenceIntegrationTest {
+
+    @Autowired
+    protected PersistenceInitializer persistenceInitializer;
+
+    @Autowired
+    protected ConnectionPool connectionPool;
+
+    @Autowired
+    protected PersistenceContext persistenceContext;
+
+    @BeforeEach
+    void clearDatabase() {
+        persistenceInitializer.init(false); // Initialize without DML
+        persistenceInitializer.clearData(); // Clear all data for isolation
+    }
+
+    @AfterAll
+    void closeResources() {
+        connectionPool.evictIdle();
+    }
+}
@@ -0,0 +1,58 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import com.arakviel.domain.entities.Author;
+import com.arakviel.infrastructure.persistence.PersistenceIntegrationTest;
+import com.arakviel.infrastructure.persistence.contract.AuthorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тести кешу сутностей через репозиторій авторів, для якого кеш увімкнено в налаштуваннях.
+ */
+class EntityCacheIntegrationTest extends PersistenceIntegrationTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityCacheManager entityCacheManager;
+
+    @Test
+    void shouldServeRepeatedFindByIdFromCacheUntilCommitChangesRow() {
+        // Arrange
+        Author author = new Author(UUID.randomUUID(), "Mykola", "Khvylovyi", "Bio", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.commit();
+
+        // Act
+        Author first = authorRepository.findById(author.getId()).orElseThrow();
+        first.setBio("Changed without saving");
+        EntityCache.Stats beforeRepeat = authorStats();
+        Author cached = authorRepository.findById(author.getId()).orElseThrow();
+        EntityCache.Stats afterRepeat = authorStats();
+        Author updated = new Author(author.getId(), "Mykola", "Khvylovyi", "Writer", null);
+        persistenceContext.registerUpdated(updated.getId(), updated);
+        persistenceContext.commit();
+        Author reloaded = authorRepository.findById(author.getId()).orElseThrow();
+        EntityCache.Stats afterReload = authorStats();
+
+        // Assert
+        assertThat(afterRepeat.hits()).isEqualTo(beforeRepeat.hits() + 1);
+        assertThat(afterRepeat.misses()).isEqualTo(beforeRepeat.misses());
+        assertThat(afterReload.misses()).isEqualTo(afterRepeat.misses() + 1);
+        assertThat(cached).isNotSameAs(first);
+        assertThat(cached.getBio()).isEqualTo("Bio");
+        assertThat(reloaded.getBio()).isEqualTo("Writer");
+    }
+
+    private EntityCache.Stats authorStats() {
+        return entityCacheManager.stats().stream()
+                .filter(stats -> stats.name().equals("authors"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 2, Duration.ofMinutes(1), value -> value);
+
+        cache.putIfFresh(1, "one", cache.readToken());
+        cache.putIfFresh(2, "two", cache.readToken());
+        cache.get(1);
+        cache.putIfFresh(3, "three", cache.readToken());
+
+        assertThat(cache.get(1)).isEqualTo("one");
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireEntryAfterTtl() throws InterruptedException {
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 10, Duration.ofMillis(20), value -> value);
+
+        cache.putIfFresh(1, "one", cache.readToken());
+        Thread.sleep(40);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void shouldNotCacheValueReadBeforeInvalidation() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 10, Duration.ofMinutes(1), value -> value);
+
+        long token = cache.readToken();
+        cache.invalidateAll(List.of(1)); // паралельний запис між читанням і заповненням
+        cache.putIfFresh(1, "stale", token);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void shouldReportHitRatio() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 10, Duration.ofMinutes(1), value -> value);
+
+        cache.get(1);
+        cache.putIfFresh(1, "one", cache.readToken());
+        cache.get(1);
+        cache.get(1);
+        cache.get(1);
+
+        assertThat(cache.stats().hits()).isEqualTo(3);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().hitRatio()).isEqualTo(0.75);
+    }
+}
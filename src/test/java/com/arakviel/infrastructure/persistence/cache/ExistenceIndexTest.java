@@ -0,0 +1,76 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExistenceIndexTest {
+
+    @Test
+    void shouldNeverAnswerAbsentForAddedValue() {
+        ExistenceIndex index = new ExistenceIndex("users.username", 1000, 0.01, 100);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add("user-" + i);
+        }
+
+        index.warm(values);
+
+        assertThat(values).allMatch(value -> index.lookup(value) != ExistenceIndex.Answer.ABSENT);
+    }
+
+    @Test
+    void shouldAnswerMostMissingValuesWithoutQuery() {
+        ExistenceIndex index = new ExistenceIndex("genres.name", 1000, 0.01, 100);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add("genre-" + i);
+        }
+        index.warm(values);
+
+        int absent = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (index.lookup("missing-" + i) == ExistenceIndex.Answer.ABSENT) {
+                absent++;
+            }
+        }
+
+        assertThat(absent).isGreaterThan(950);
+    }
+
+    @Test
+    void shouldNotClaimAnythingBeforeWarmUp() {
+        ExistenceIndex index = new ExistenceIndex("genres.name", 100, 0.01, 100);
+
+        assertThat(index.lookup("Drama")).isEqualTo(ExistenceIndex.Answer.UNKNOWN);
+    }
+
+    @Test
+    void shouldForgetConfirmedValuesAfterClear() {
+        ExistenceIndex index = new ExistenceIndex("genres.name", 100, 0.01, 100);
+        index.warm(List.of("Drama"));
+        index.confirm("Drama", index.readToken());
+
+        assertThat(index.lookup("Drama")).isEqualTo(ExistenceIndex.Answer.PRESENT);
+        index.clearConfirmed();
+        assertThat(index.lookup("Drama")).isEqualTo(ExistenceIndex.Answer.UNKNOWN);
+        assertThat(index.stats().answered()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreConfirmationReadBeforeDeleteBecameVisible() {
+        ExistenceIndex index = new ExistenceIndex("genres.name", 100, 0.01, 100);
+        index.warm(List.of("Drama"));
+
+        long token = index.readToken(); // перевірка ще бачить закомічений рядок
+        index.clearConfirmed();         // видалення закомічено
+        index.confirm("Drama", token);  // запізніле підтвердження зі старого читання
+
+        assertThat(index.lookup("Drama")).isEqualTo(ExistenceIndex.Answer.UNKNOWN);
+        index.confirm("Drama", index.readToken());
+        assertThat(index.lookup("Drama")).isEqualTo(ExistenceIndex.Answer.PRESENT);
+    }
+}
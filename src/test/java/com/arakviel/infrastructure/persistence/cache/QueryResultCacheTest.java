@@ -0,0 +1,76 @@
+package com.arakviel.infrastructure.persistence.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryResultCacheTest {
+
+    private static final String SQL = "SELECT * FROM audiobooks WHERE genre_id = ?";
+
+    @Test
+    void shouldServeRepeatedQueryUntilReadTableChanges() {
+        QueryResultCache cache = new QueryResultCache(new TableVersionTracker(), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> List.of("a" + loads.incrementAndGet()), List::copyOf);
+        List<String> cached = cache.get(SQL, List.of(1), List.of("audiobooks"),
+                () -> List.of("a" + loads.incrementAndGet()), List::copyOf);
+        cache.tableVersions().bump("genres"); // запит цю таблицю не читає
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> List.of("a" + loads.incrementAndGet()), List::copyOf);
+        cache.tableVersions().bump("audiobooks");
+        List<String> reloaded = cache.get(SQL, List.of(1), List.of("audiobooks"),
+                () -> List.of("a" + loads.incrementAndGet()), List::copyOf);
+
+        assertThat(cached).containsExactly("a1");
+        assertThat(reloaded).containsExactly("a2");
+        assertThat(cache.stats().hits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeySeparateEntriesByParameters() {
+        QueryResultCache cache = new QueryResultCache(new TableVersionTracker(), 100);
+
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> 10L, count -> count);
+        long other = cache.get(SQL, List.of(2), List.of("audiobooks"), () -> 20L, count -> count);
+
+        assertThat(other).isEqualTo(20L);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesByRowCount() {
+        QueryResultCache cache = new QueryResultCache(new TableVersionTracker(), 16);
+        List<String> rows = List.of("a", "b", "c");
+
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> rows, List::copyOf);
+        cache.get(SQL, List.of(2), List.of("audiobooks"), () -> rows, List::copyOf);
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> rows, List::copyOf);
+        cache.get(SQL, List.of(3), List.of("audiobooks"), () -> rows, List::copyOf);
+        cache.get(SQL, List.of(4), List.of("audiobooks"), () -> rows, List::copyOf);
+        cache.get(SQL, List.of(5), List.of("audiobooks"), () -> rows, List::copyOf);
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().size()).isEqualTo(4);
+        cache.get(SQL, List.of(1), List.of("audiobooks"), () -> rows, List::copyOf);
+        assertThat(cache.stats().hits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnCopyThatCallerCannotCorrupt() {
+        QueryResultCache cache = new QueryResultCache(new TableVersionTracker(), 100);
+
+        List<String> first = cache.get(SQL, List.of(1), List.of("audiobooks"),
+                () -> new ArrayList<>(List.of("a")), ArrayList::new);
+        first.add("changed");
+        List<String> second = cache.get(SQL, List.of(1), List.of("audiobooks"),
+                () -> new ArrayList<>(List.of("b")), ArrayList::new);
+
+        assertThat(second).containsExactly("a");
+    }
+}
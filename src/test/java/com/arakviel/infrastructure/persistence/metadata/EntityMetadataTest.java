@@ -0,0 +1,91 @@
+package com.arakviel.infrastructure.persistence.metadata;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.AudiobookFile;
+import com.arakviel.domain.entities.Collection;
+import com.arakviel.domain.enums.FileFormat;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityMetadataTest {
+
+    @Test
+    void shouldCacheMetadataPerEntityClass() {
+        assertThat(EntityMetadata.of(Collection.class)).isSameAs(EntityMetadata.of(Collection.class));
+    }
+
+    @Test
+    void shouldPickUpGeneratedMapperAndBinder() {
+        EntityMetadata<Audiobook> metadata = EntityMetadata.of(Audiobook.class);
+
+        assertThat(metadata.rowMapper()).isNotNull();
+        assertThat(metadata.parameterBinder()).isNotNull();
+        assertThat(metadata.rowMapper().columnNames())
+                .containsExactly("id", "author_id", "genre_id", "title", "duration", "release_year",
+                        "description", "cover_image_path");
+    }
+
+    @Test
+    void shouldBuildSqlFromSnakeCaseColumns() {
+        EntityMetadata<Collection> metadata = EntityMetadata.of(Collection.class);
+
+        assertThat(metadata.buildInsertSql("collections"))
+                .isEqualTo("INSERT INTO collections (id, user_id, name, created_at) VALUES (?, ?, ?, ?)");
+        assertThat(metadata.buildUpdateSql("collections"))
+                .isEqualTo("UPDATE collections SET user_id = ?, name = ?, created_at = ? WHERE id = ?");
+    }
+
+    @Test
+    void shouldBuildPartialUpdateForChangedColumnsOnly() {
+        EntityMetadata<Collection> metadata = EntityMetadata.of(Collection.class);
+        Collection collection = new Collection(UUID.randomUUID(), null, "Мої улюблені", LocalDateTime.now());
+        Object[] snapshot = metadata.snapshot(collection);
+
+        collection.setName("Прочитане");
+        Object[] current = metadata.snapshot(collection);
+        long dirtyMask = metadata.dirtyMask(snapshot, current);
+
+        assertThat(metadata.dirtyMask(snapshot, snapshot)).isZero();
+        assertThat(metadata.buildUpdateSql("collections", dirtyMask))
+                .isEqualTo("UPDATE collections SET name = ? WHERE id = ?");
+        assertThat(metadata.maskedValues(current, dirtyMask)).containsExactly("Прочитане");
+    }
+
+    @Test
+    void shouldConvertValuesForJdbc() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        Collection collection = new Collection(id, null, "Мої улюблені", createdAt);
+
+        List<Object> values = EntityMetadata.of(Collection.class).extractValues(collection, false);
+
+        assertThat(values).containsExactly(null, "Мої улюблені", Timestamp.valueOf(createdAt));
+        assertThat(EntityMetadata.of(Collection.class).getId(collection)).isEqualTo(id);
+    }
+
+    @Test
+    void shouldPopulateNewInstanceFromDatabaseValues() {
+        EntityMetadata<AudiobookFile> metadata = EntityMetadata.of(AudiobookFile.class);
+        AudiobookFile file = metadata.newInstance();
+
+        for (ColumnMetadata column : metadata.columns()) {
+            switch (column.columnName()) {
+                case "format" -> column.setFromDatabase(file, "MP3");
+                case "size" -> column.setFromDatabase(file, 1000L);
+                case "file_path" -> column.setFromDatabase(file, "/audio/book.mp3");
+                default -> column.setFromDatabase(file, null);
+            }
+        }
+
+        assertThat(file.getFormat()).isEqualTo(FileFormat.MP3);
+        assertThat(file.getSize()).isEqualTo(1000);
+        assertThat(file.getFilePath()).isEqualTo("/audio/book.mp3");
+        assertThat(file.getId()).isNull();
+    }
+}
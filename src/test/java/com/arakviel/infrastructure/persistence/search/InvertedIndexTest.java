@@ -0,0 +1,83 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void shouldFoldCaseApostrophesAndCaseEndings() {
+        assertThat(TextAnalyzer.terms("Лісова ПІСНЯ, п’ять пісень і пʼять пісні"))
+                .containsExactly("лісов", "пісн", "пят", "пісен", "пят", "пісн");
+    }
+
+    @Test
+    void shouldRankRareAndRepeatedTermsHigher() {
+        InvertedIndex<Integer> index = warmIndex(Map.of(
+                1, "Лісова пісня",
+                2, "Пісня про пісню і пісні",
+                3, "Кайдашева сім'я"));
+
+        List<InvertedIndex.Hit<Integer>> hits = index.search("пісня");
+
+        assertThat(hits).extracting(InvertedIndex.Hit::id).containsExactly(2, 1);
+    }
+
+    @Test
+    void shouldTreatLastQueryWordAsPrefix() {
+        InvertedIndex<Integer> index = warmIndex(Map.of(
+                1, "Тарас Шевченко",
+                2, "Іван Франко"));
+
+        assertThat(index.search("шевч")).extracting(InvertedIndex.Hit::id).containsExactly(1);
+        assertThat(index.search("шевч тарас")).extracting(InvertedIndex.Hit::id).containsExactly(1);
+        assertThat(index.search("франк")).extracting(InvertedIndex.Hit::id).containsExactly(2);
+    }
+
+    @Test
+    void shouldKeepStopWordAsLastQueryPrefix() {
+        InvertedIndex<Integer> index = warmIndex(Map.of(
+                1, "Дорога додому",
+                2, "Повість про зиму",
+                3, "Лісова пісня"));
+
+        assertThat(index.search("до")).extracting(InvertedIndex.Hit::id).containsExactly(1);
+        assertThat(index.search("по")).extracting(InvertedIndex.Hit::id).containsExactly(2);
+        assertThat(index.search("до лісов")).extracting(InvertedIndex.Hit::id).containsExactly(3);
+    }
+
+    @Test
+    void shouldReplaceAndRemoveDocuments() {
+        InvertedIndex<Integer> index = warmIndex(Map.of(1, "Заповіт", 2, "Мойсей"));
+
+        index.put(1, "Кобзар");
+        index.remove(2);
+
+        assertThat(index.search("заповіт")).isEmpty();
+        assertThat(index.search("кобзар")).extracting(InvertedIndex.Hit::id).containsExactly(1);
+        assertThat(index.search("мойсей")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportDocumentsChangedWhileWarming() {
+        InvertedIndex<Integer> index = new InvertedIndex<>("test");
+
+        assertThat(index.markChanged(List.of(1))).isFalse(); // до заповнення зміни не відстежуються
+        index.startWarming();
+        assertThat(index.markChanged(List.of(2))).isFalse();
+        assertThat(index.warm(Map.of(1, "Заповіт", 2, "Мойсей"))).containsExactly(2);
+        assertThat(index.markChanged(List.of(2))).isTrue();
+    }
+
+    private static InvertedIndex<Integer> warmIndex(Map<Integer, String> texts) {
+        InvertedIndex<Integer> index = new InvertedIndex<>("test");
+        index.startWarming();
+        index.warm(texts);
+        return index;
+    }
+}
@@ -0,0 +1,62 @@
+package com.arakviel.infrastructure.persistence.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrigramIndexTest {
+
+    @Test
+    void shouldFindSubstringsIgnoringCaseInAnyValue() {
+        TrigramIndex<Integer> index = warmIndex(Map.of(
+                1, List.of("Тарас", "Шевченко"),
+                2, List.of("Олена", "Шевчук"),
+                3, List.of("Іван", "Франко")));
+
+        assertThat(index.containing("ШЕВ")).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.containing("ченк")).containsExactly(1);
+        assertThat(index.containing("ан")).containsExactlyInAnyOrder(3);
+        assertThat(index.containing("Тарас Шевченко")).isEmpty(); // значення колонок не склеюються
+    }
+
+    @Test
+    void shouldFindSimilarValuesAboveThreshold() {
+        TrigramIndex<Integer> index = warmIndex(Map.of(
+                1, List.of("Shevchenko"),
+                2, List.of("Shevchuk"),
+                3, List.of("Franko")));
+
+        List<TrigramIndex.Hit<Integer>> hits = index.similar("Shevcenko", 0.3);
+
+        assertThat(hits).extracting(TrigramIndex.Hit::id).containsExactly(1, 2);
+        assertThat(hits.getFirst().similarity()).isGreaterThan(hits.get(1).similarity());
+        assertThat(index.similar("Shevcenko", 0.6)).extracting(TrigramIndex.Hit::id).containsExactly(1);
+        assertThatThrownBy(() -> index.similar("Shevcenko", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReplaceAndRemoveDocuments() {
+        TrigramIndex<Integer> index = warmIndex(Map.of(1, List.of("Драма"), 2, List.of("Поезія")));
+
+        index.put(1, List.of("Комедія"));
+        index.remove(2);
+        index.put(3, List.of("Мелодрама"));
+
+        assertThat(index.containing("драм")).containsExactly(3);
+        assertThat(index.containing("меді")).containsExactly(1);
+        assertThat(index.containing("поез")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static TrigramIndex<Integer> warmIndex(Map<Integer, List<String>> values) {
+        TrigramIndex<Integer> index = new TrigramIndex<>("test");
+        index.startWarming();
+        index.warm(values);
+        return index;
+    }
+}
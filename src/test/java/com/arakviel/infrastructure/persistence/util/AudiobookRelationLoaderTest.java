@@ -0,0 +1,42 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import com.arakviel.domain.entities.Audiobook;
+import com.arakviel.domain.entities.Author;
+import com.arakviel.domain.entities.Genre;
+import com.arakviel.domain.projections.AudiobookDetails;
+import com.arakviel.infrastructure.persistence.PersistenceIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AudiobookRelationLoaderTest extends PersistenceIntegrationTest {
+
+    @Autowired
+    private AudiobookRelationLoader audiobookRelationLoader;
+
+    @Test
+    void shouldHydrateAudiobookAuthorsAndGenres() {
+        // Arrange
+        Author author = new Author(UUID.randomUUID(), "Lesya", "Ukrainka", "Bio", null);
+        Genre genre = new Genre(UUID.randomUUID(), "Drama", null);
+        Audiobook first = new Audiobook(UUID.randomUUID(), author.getId(), genre.getId(), "Lisova pisnia", 5400, 2020, "Drama", null);
+        Audiobook second = new Audiobook(UUID.randomUUID(), author.getId(), genre.getId(), "Boiarynia", 3000, 2021, "Drama", null);
+        persistenceContext.registerNew(author);
+        persistenceContext.registerNew(genre);
+        persistenceContext.registerNew(first);
+        persistenceContext.registerNew(second);
+        persistenceContext.commit();
+
+        // Act
+        List<AudiobookDetails> details = audiobookRelationLoader.load(List.of(first, second));
+
+        // Assert
+        assertThat(details).extracting(d -> d.author().getLastName()).containsExactly("Ukrainka", "Ukrainka");
+        assertThat(details).extracting(d -> d.genre().getName()).containsExactly("Drama", "Drama");
+        assertThat(details.getLast().audiobook()).isSameAs(second);
+    }
+}
@@ -0,0 +1,145 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import com.arakviel.infrastructure.persistence.exception.ConnectionTimeoutException;
+import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import com.arakviel.infrastructure.persistence.util.ConnectionPool.PoolConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool connectionPool;
+
+    @BeforeEach
+    void setUp() {
+        connectionPool = new ConnectionPool(new PoolConfig.Builder()
+                .withUrl("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1")
+                .withMaxConnections(1)
+                .withStatementCacheSize(1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionPool.close();
+    }
+
+    @Test
+    void shouldReuseClosedStatementForSameSql() throws SQLException {
+        PreparedStatement first;
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            first = statement;
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+            }
+        }
+        assertThat(first.isClosed()).isTrue();
+
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            statement.setInt(1, 2);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(2);
+            }
+            assertThat(statement.getConnection()).isSameAs(connection);
+        }
+
+        assertThat(connectionPool.statementCacheStats())
+                .isEqualTo(new ConnectionPool.StatementCacheStats(1, 1, 0));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedStatementWhenCacheIsFull() throws SQLException {
+        try (Connection connection = connectionPool.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+            connection.prepareStatement("SELECT 2").close();
+            connection.prepareStatement("SELECT 2").close();
+        }
+
+        assertThat(connectionPool.statementCacheStats())
+                .isEqualTo(new ConnectionPool.StatementCacheStats(1, 2, 1));
+    }
+
+    @Test
+    void shouldFailFastWhenNoConnectionIsReleasedInTime() throws SQLException {
+        try (Connection ignored = connectionPool.getConnection()) {
+            assertThatThrownBy(() -> connectionPool.getConnection(Duration.ofMillis(50)))
+                    .isInstanceOf(ConnectionTimeoutException.class);
+        }
+
+        try (Connection connection = connectionPool.getConnection(Duration.ofMillis(50))) {
+            assertThat(connection.isClosed()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldOpenNewConnectionAfterEvictingIdle() throws SQLException {
+        connectionPool.evictIdle();
+
+        try (Connection connection = connectionPool.getConnection(Duration.ofSeconds(1))) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldCloseAllConnectionsAndRejectBorrowsAfterClose() throws SQLException {
+        Connection borrowed = connectionPool.getConnection();
+
+        connectionPool.close();
+        borrowed.close();
+
+        assertThat(connectionPool.metrics().snapshot().total()).isZero();
+        assertThatThrownBy(() -> connectionPool.getConnection(Duration.ofMillis(50)))
+                .isInstanceOf(DatabaseAccessException.class)
+                .hasMessageContaining("закрито");
+    }
+
+    @Test
+    void shouldRecordActiveConnectionsAndWaitTimes() throws SQLException {
+        try (Connection ignored = connectionPool.getConnection()) {
+            PoolMetrics.Snapshot busy = connectionPool.metrics().snapshot();
+            assertThat(busy.active()).isEqualTo(1);
+            assertThat(busy.idle()).isZero();
+            assertThatThrownBy(() -> connectionPool.getConnection(Duration.ofMillis(20)))
+                    .isInstanceOf(ConnectionTimeoutException.class);
+        }
+
+        PoolMetrics.Snapshot snapshot = connectionPool.metrics().snapshot();
+        assertThat(snapshot.active()).isZero();
+        assertThat(snapshot.idle()).isEqualTo(1);
+        assertThat(snapshot.pending()).isZero();
+        assertThat(snapshot.acquisitions()).isEqualTo(1);
+        assertThat(snapshot.timeouts()).isEqualTo(1);
+        assertThat(snapshot.waitTime().count()).isEqualTo(2);
+        assertThat(snapshot.holdTime().count()).isEqualTo(1);
+        assertThat(snapshot.waitTime().percentileMicros(99)).isGreaterThanOrEqualTo(10_000);
+    }
+
+    @Test
+    void shouldReportConnectionHeldLongerThanLeakThreshold() throws Exception {
+        ConnectionPool leakAwarePool = new ConnectionPool(new PoolConfig.Builder()
+                .withUrl("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1")
+                .withMaxConnections(1)
+                .withLeakDetectionThreshold(Duration.ofMillis(100))
+                .build());
+        try (Connection ignored = leakAwarePool.getConnection()) {
+            Thread.sleep(400);
+            assertThat(leakAwarePool.metrics().snapshot().leaksDetected()).isEqualTo(1);
+        } finally {
+            leakAwarePool.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import com.arakviel.domain.entities.ListeningProgress;
+import com.arakviel.infrastructure.persistence.contract.ListeningProgressRepository;
+import com.arakviel.infrastructure.persistence.exception.DatabaseAccessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ListeningProgressWriteBufferTest {
+
+    private final ListeningProgressRepository repository = mock(ListeningProgressRepository.class);
+    private ListeningProgressWriteBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        reset(repository);
+        buffer.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceReportsAndFlushLatestPosition() {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 100);
+        UUID userId = UUID.randomUUID();
+        UUID audiobookId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        buffer.record(userId, audiobookId, 10, now);
+        buffer.record(userId, audiobookId, 20, now.plusSeconds(5));
+        buffer.record(userId, audiobookId, 15, now.plusSeconds(1)); // запізніле повідомлення
+        buffer.flush();
+
+        ArgumentCaptor<Collection<ListeningProgress>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).upsertAll(captor.capture());
+        assertThat(captor.getValue())
+                .singleElement()
+                .extracting(ListeningProgress::getPosition)
+                .isEqualTo(20);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldReadPendingPositionWithoutDatabase() {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 100);
+        UUID userId = UUID.randomUUID();
+        UUID audiobookId = UUID.randomUUID();
+        when(repository.findByUserId(userId)).thenReturn(List.of());
+
+        buffer.record(userId, audiobookId, 42, LocalDateTime.now());
+
+        assertThat(buffer.find(userId, audiobookId))
+                .get()
+                .extracting(ListeningProgress::getPosition)
+                .isEqualTo(42);
+        assertThat(buffer.findByUserId(userId)).hasSize(1);
+        verify(repository, never()).findByUserIdAndAudiobookId(any(), any());
+    }
+
+    @Test
+    void shouldFlushInBackgroundWhenBufferIsFull() {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 1);
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        buffer.record(userId, UUID.randomUUID(), 1, now);
+        buffer.record(userId, UUID.randomUUID(), 1, now.plusSeconds(1));
+
+        verify(repository, timeout(1000)).upsertAll(any());
+        assertThat(buffer.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotBlockReportingThreadWhileDatabaseIsSlow() throws InterruptedException {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 1);
+        CountDownLatch databaseResponds = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            databaseResponds.await();
+            return null;
+        }).when(repository).upsertAll(any());
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 5; i++) {
+                buffer.record(userId, UUID.randomUUID(), 1, now.plusSeconds(i));
+            }
+        });
+
+        assertThat(buffer.pendingCount()).isLessThanOrEqualTo(1);
+        databaseResponds.countDown();
+    }
+
+    @Test
+    void shouldKeepPositionsWhenFlushFails() {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 100);
+        doThrow(new DatabaseAccessException("недоступно")).when(repository).upsertAll(any());
+
+        buffer.record(UUID.randomUUID(), UUID.randomUUID(), 5, LocalDateTime.now());
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(DatabaseAccessException.class);
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropOldestPositionsWhenFlushFailsAndBufferIsFull() {
+        buffer = new ListeningProgressWriteBuffer(repository, Duration.ofHours(1), 2);
+        doThrow(new DatabaseAccessException("недоступно")).when(repository).upsertAll(any());
+        UUID userId = UUID.randomUUID();
+        UUID oldest = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        buffer.record(userId, oldest, 1, now);
+        buffer.record(userId, UUID.randomUUID(), 2, now.plusSeconds(1));
+        buffer.record(userId, UUID.randomUUID(), 3, now.plusSeconds(2)); // переповнення, запис не вдається
+
+        assertThat(buffer.droppedCount()).isEqualTo(1);
+        assertThat(buffer.find(userId, oldest)).isEmpty();
+        assertThatThrownBy(buffer::flush).isInstanceOf(DatabaseAccessException.class); // чекає фоновий запис
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,46 @@
+package com.arakviel.infrastructure.persistence.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlTemplateCacheTest {
+
+    @Test
+    void shouldReturnSameInstanceAndCountHits() {
+        SqlTemplateCache cache = new SqlTemplateCache(4);
+        AtomicInteger builds = new AtomicInteger();
+
+        String first = cache.get("count", () -> {
+            builds.incrementAndGet();
+            return new String("SELECT COUNT(*) FROM genres");
+        });
+        String second = cache.get("count", () -> {
+            builds.incrementAndGet();
+            return new String("SELECT COUNT(*) FROM genres");
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(builds).hasValue(1);
+        assertThat(cache.stats()).isEqualTo(new SqlTemplateCache.Stats(1, 1, 1));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTemplate() {
+        SqlTemplateCache cache = new SqlTemplateCache(2);
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+        cache.get("a", () -> "A");
+        cache.get("c", () -> "C");
+
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+
+        SqlTemplateCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(4);
+    }
+}